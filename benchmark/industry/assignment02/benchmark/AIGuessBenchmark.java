@@ -0,0 +1,85 @@
+package industry.assignment02.benchmark;
+
+import industry.assignment02.game.Result;
+import industry.assignment02.role.AILevel;
+import industry.assignment02.role.HardAI;
+import industry.assignment02.role.MediumAI;
+import industry.assignment02.simulation.GameSimulator;
+import industry.assignment02.solver.FeedbackTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmarks of the computer's guess of the 4 digit Bulls and Cows game
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class AIGuessBenchmark {
+
+    /**
+     * HardAI.guessPlayerCode on the first turn
+     */
+    @Benchmark
+    public String hardAIFirstGuess() {
+        return new HardAI(AILevel.HARDAI).guessPlayerCode();
+    }
+
+    /**
+     * HardAI.guessPlayerCode over a whole game, secret codes cycle through the code space
+     */
+    @Benchmark
+    public int hardAIWholeGame(HardAIGame game) {
+        return game.simulator.play(game.table.getCode(game.next++ * 31 % game.table.size()));
+    }
+
+    /**
+     * MediumAI.guessPlayerCode, which never repeats a guess, after a guess history of each length
+     */
+    @Benchmark
+    public String mediumAIGuess(MediumAIHistory history) {
+        return history.computer.guessPlayerCode();
+    }
+
+    @State(Scope.Thread)
+    public static class HardAIGame {
+        private FeedbackTable table;
+        private GameSimulator simulator;
+        private int next;
+
+        @Setup
+        public void setUp() {
+            table = FeedbackTable.getInstance();
+            simulator = new GameSimulator(() -> new HardAI(AILevel.HARDAI));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class MediumAIHistory {
+        @Param({"7", "70", "700"})
+        private int historySize;
+
+        private MediumAI computer;
+
+        @Setup
+        public void setUp() {
+            FeedbackTable table = FeedbackTable.getInstance();
+            computer = new MediumAI(AILevel.MEDIUMAI);
+            for (int i = 0; i < historySize; i++)
+                computer.getGuessResults().add(new Result("Computer", table.getCode(i * 7 % table.size()), 0, 0));
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package industry.assignment02.benchmark;
+
+import industry.assignment02.game.Game;
+import industry.assignment02.game.Result;
+import industry.assignment02.solver.CodeSpace;
+import industry.assignment02.solver.GuessHistory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmarks of scoring guesses for each code length
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ScoringBenchmark {
+    static final int SAMPLES = 1024;
+
+    @Param({"4", "6", "8"})
+    private int codeLength;
+
+    private String[] codes;
+    private CodeSpace codeSpace;
+    private long[] packedCodes;
+    private long[] batch;
+    private GuessHistory history;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        codeSpace = CodeSpace.of(codeLength, 10);
+        codes = new String[SAMPLES];
+        packedCodes = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            codes[i] = randomCode(random, codeLength);
+            packedCodes[i] = codeSpace.pack(codes[i]);
+        }
+        batch = new long[SAMPLES];
+        String secretCode = randomCode(random, codeLength);
+        history = GuessHistory.of(codeSpace, List.of(
+                Game.scoreBullsAndCowsResult("Computer", secretCode, randomCode(random, codeLength)),
+                Game.scoreBullsAndCowsResult("Computer", secretCode, randomCode(random, codeLength))));
+    }
+
+    /**
+     * Game.scoreBullsAndCowsResult on code strings
+     */
+    @Benchmark
+    public Result scoreBullsAndCows() {
+        int i = next++ & (SAMPLES - 1);
+        return Game.scoreBullsAndCowsResult("You", codes[i], codes[(i * 7 + 1) & (SAMPLES - 1)]);
+    }
+
+    /**
+     * CodeSpace.score on packed codes
+     */
+    @Benchmark
+    public int scorePackedCodes() {
+        int i = next++ & (SAMPLES - 1);
+        return codeSpace.score(packedCodes[i], packedCodes[(i * 7 + 1) & (SAMPLES - 1)]);
+    }
+
+    /**
+     * filtering a batch of packed codes by a guess history of two guesses code by code
+     */
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public int filterPackedCodes() {
+        int consistent = 0;
+        for (long code : packedCodes)
+            if (history.isConsistent(code)) consistent++;
+        return consistent;
+    }
+
+    /**
+     * filtering a batch of packed codes by a guess history of two guesses in a batch
+     */
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public int retainPackedCodes() {
+        System.arraycopy(packedCodes, 0, batch, 0, SAMPLES);
+        return history.retainConsistent(batch, SAMPLES);
+    }
+
+    /**
+     * returns a random code of non-repetitive digits
+     */
+    static String randomCode(Random random, int length) {
+        StringBuilder code = new StringBuilder();
+        while (code.length() < length) {
+            char digit = (char) ('0' + random.nextInt(10));
+            if (code.indexOf(String.valueOf(digit)) < 0)
+                code.append(digit);
+        }
+        return code.toString();
+    }
+}
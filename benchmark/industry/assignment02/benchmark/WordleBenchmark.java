@@ -0,0 +1,121 @@
+package industry.assignment02.benchmark;
+
+import industry.assignment02.dictionary.WordleDictionary;
+import industry.assignment02.game.Game;
+import industry.assignment02.game.Result;
+import industry.assignment02.game.WordleFileNotFoundException;
+import industry.assignment02.role.AILevel;
+import industry.assignment02.role.Computer;
+import industry.assignment02.role.EasyAI;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * benchmarks of Wordle scoring and of dictionaries of each size
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class WordleBenchmark {
+
+    /**
+     * Game.scoreWordleResult on random words
+     */
+    @Benchmark
+    public Result scoreWordle(Words words) {
+        int i = words.next++ & (ScoringBenchmark.SAMPLES - 1);
+        return Game.scoreWordleResult("You", words.words[i], words.words[(i * 7 + 1) & (ScoringBenchmark.SAMPLES - 1)]);
+    }
+
+    /**
+     * Computer.genWordleCode from the shared dictionary, loaded once
+     */
+    @Benchmark
+    public String genWordleCode(Dictionary dictionary) throws WordleFileNotFoundException {
+        dictionary.computer.genWordleCode();
+        return dictionary.computer.getSecretCode();
+    }
+
+    /**
+     * reading and parsing the dictionary file, as the first game of the file does
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public WordleDictionary loadDictionary(Dictionary dictionary) throws WordleFileNotFoundException {
+        return WordleDictionary.read(dictionary.file.toString());
+    }
+
+    @State(Scope.Thread)
+    public static class Words {
+        private String[] words;
+        private int next;
+
+        @Setup
+        public void setUp() {
+            Random random = new Random(42);
+            words = new String[ScoringBenchmark.SAMPLES];
+            for (int i = 0; i < words.length; i++)
+                words[i] = randomWord(random);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Dictionary {
+        @Param({"500", "5000", "50000"})
+        private int dictionarySize;
+
+        private Path file;
+        private Computer computer;
+
+        /**
+         * writes a temporary dictionary in the format of dictionary.txt, one in four words is not a Wordle word
+         */
+        @Setup
+        public void setUp() throws IOException {
+            Random random = new Random(42);
+            file = Files.createTempFile("dictionary", ".txt");
+            try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file))) {
+                for (int i = 0; i < dictionarySize; i++) {
+                    if (i > 0) writer.print(',');
+                    writer.print(i % 4 == 0 ? randomWord(random).substring(0, 3) : randomWord(random));
+                }
+            }
+            computer = new EasyAI(AILevel.WORDLE);
+            computer.setWordleFileName(file.toString());
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * returns a random word of five lowercase letters
+     */
+    private static String randomWord(Random random) {
+        char[] letters = new char[5];
+        for (int i = 0; i < letters.length; i++)
+            letters[i] = (char) ('a' + random.nextInt(26));
+        return new String(letters);
+    }
+}
@@ -1,25 +1,94 @@
 import industry.assignment02.game.Game;
 import industry.assignment02.game.GameMode;
 import industry.assignment02.game.WordleFileNotFoundException;
+import industry.assignment02.log.GameLog;
 import industry.assignment02.role.AILevel;
+import industry.assignment02.solver.CodeSpace;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
 
 public class GameManager {
     private Game game;
+    private final BufferedReader input;
+    private final PrintStream output;
+    private boolean resultFileEnabled = true;
 
     /**
      * Constructor of GameManager
+     * the player plays from the console
      */
     public GameManager() {
-        this.game = new Game();
+        this(null, System.out);
+    }
+
+    /**
+     * Constructor of GameManager for a game session of its own input and output,
+     * so a process can host many games at the same time
+     *
+     * @param input  the player's input, or null to read from the Keyboard
+     * @param output the output to the player
+     */
+    public GameManager(BufferedReader input, PrintStream output) {
+        this.input = input;
+        this.output = output;
+        this.game = new Game(output);
+    }
+
+    /**
+     * sets the code space of Bulls and Cows secret codes
+     *
+     * @param codeSpace the code space of secret codes
+     */
+    public void setCodeSpace(CodeSpace codeSpace) {
+        game.setCodeSpace(codeSpace);
+    }
+
+    /**
+     * sets the game log the games of this manager are appended to
+     *
+     * @param gameLog A shared game log, or null not to log games
+     */
+    public void setGameLog(GameLog gameLog) {
+        game.setGameLog(gameLog);
+    }
+
+    /**
+     * sets the time budget of the computer's guess
+     *
+     * @param moveBudgetMillis the budget in milliseconds, 0 for no budget
+     */
+    public void setMoveBudget(long moveBudgetMillis) {
+        game.setMoveBudget(moveBudgetMillis);
+    }
+
+    /**
+     * enables or disables saving the game result to a txt file, a remote player must not write files
+     *
+     * @param resultFileEnabled can the player save the game result
+     */
+    public void setResultFileEnabled(boolean resultFileEnabled) {
+        this.resultFileEnabled = resultFileEnabled;
     }
 
     /**
      * Construct a GameManager for Starting a game
+     * Bulls and Cows codes are 4 digits from 0-9 unless a code length and an alphabet size are given
      *
-     * @param args The array of string parsed from command-line
+     * @param args The array of string parsed from command-line: [codeLength [alphabetSize]]
      */
     public static void main(String[] args) {
         GameManager gm = new GameManager();
+        try {
+            if (args.length > 0) {
+                int length = Integer.parseInt(args[0]);
+                int alphabetSize = args.length > 1 ? Integer.parseInt(args[1]) : Math.max(10, length);
+                gm.setCodeSpace(CodeSpace.of(length, alphabetSize));
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println("Error: " + e.getMessage() + " The game uses 4 digits from 0-9.");
+        }
         gm.start();
     }
 
@@ -33,10 +102,12 @@ public class GameManager {
             game.setGameMode(getGameMode());
             startNewName();
             printExitMessage();
+        } catch (EndOfInputException e) {
+            output.flush();
         } catch (NullPointerException e) {
-            System.out.println("Parameters NULL Error: " + e.getMessage());
+            output.println("Parameters NULL Error: " + e.getMessage());
         } catch (Exception e) {
-            System.out.println("Game Manager start() Error: " + e.getMessage());
+            output.println("Game Manager start() Error: " + e.getMessage());
         }
     }
 
@@ -55,7 +126,7 @@ public class GameManager {
             processPlayerGuess();
             processWriteToTxtFile();
         } catch (WordleFileNotFoundException e) {
-            System.out.println("Error: " + e.getMessage());
+            output.println("Error: " + e.getMessage());
             switchToGameLevelMenu();
         }
     }
@@ -64,7 +135,7 @@ public class GameManager {
      * prints the welcome message of the game
      */
     private void printWelcomeMessage() {
-        System.out.println("Welcome to the game!");
+        output.println("Welcome to the game!");
     }
 
     /**
@@ -72,7 +143,7 @@ public class GameManager {
      * and return back to game level menu where the player can choose the different difficulty levels of the game
      */
     private void switchToGameLevelMenu() {
-        System.out.println("The system will switch to Bulls and Cows automatically.\n");
+        output.println("The system will switch to Bulls and Cows automatically.\n");
         game.setGameMode(GameMode.BULLSANDCOWS);
         startNewName();
     }
@@ -85,7 +156,7 @@ public class GameManager {
     private GameMode getGameMode() {
         printGameModeMenu();
         while (true) {
-            String input = Keyboard.readInput().toLowerCase();
+            String input = readInput().toLowerCase();
 
             if (input.isBlank())
                 return GameMode.QUIT;
@@ -102,10 +173,10 @@ public class GameManager {
                     return GameMode.BULLSANDCOWS;
                 else if (choice == 2)
                     return GameMode.WORDLE;
-                System.out.println("Please enter a number 1 or 2 or full game name: Bulls and Cows, Wordle");
+                output.println("Please enter a number 1 or 2 or full game name: Bulls and Cows, Wordle");
 
             } catch (NumberFormatException e) {
-                System.out.println("Please enter a number 1 or 2 or full game name: Bulls and Cows, Wordle");
+                output.println("Please enter a number 1 or 2 or full game name: Bulls and Cows, Wordle");
             }
         }
 
@@ -116,25 +187,25 @@ public class GameManager {
      * prints the game mode menu
      */
     private void printGameModeMenu() {
-        System.out.println("Please make your choice to start a game or just press ENTER to quit:");
-        System.out.println("1.Bulls and Cows");
-        System.out.println("2.Wordle");
+        output.println("Please make your choice to start a game or just press ENTER to quit:");
+        output.println("1.Bulls and Cows");
+        output.println("2.Wordle");
     }
 
     /**
      * prompt player for Bulls and Cows difficulty level
-     * Wordle has no difficulty level. System will set it as "WORDLE"(Enum) automatically.
+     * Wordle has no difficulty level, it can be played alone or against WordleAI
      *
      * @return String A gameLevel from player's choice
      */
     private AILevel getGameLevel() {
         if (GameMode.WORDLE == game.getGameMode())
-            return AILevel.WORDLE;
+            return getWordleLevel();
 
         printGameLevelMenu();
 
         while (true) {
-            String input = Keyboard.readInput().toLowerCase();
+            String input = readInput().toLowerCase();
 
             if (input.isBlank())
                 return AILevel.BEGINNER;
@@ -156,23 +227,54 @@ public class GameManager {
                     return AILevel.MEDIUMAI;
                 else if (choice == 3)
                     return AILevel.HARDAI;
-                System.out.println("Please enter EasyAI, MediumAI, HardAI or a number between 1 and 3");
+                output.println("Please enter EasyAI, MediumAI, HardAI or a number between 1 and 3");
 
             } catch (NumberFormatException e) {
-                System.out.println("Please enter EasyAI, MediumAI, HardAI or a number between 1 and 3");
+                output.println("Please enter EasyAI, MediumAI, HardAI or a number between 1 and 3");
             }
         }
     }
 
+    /**
+     * prompt player to play Wordle alone or against WordleAI
+     * System will set it as "WORDLE"(Enum) for a single player game.
+     *
+     * @return A gameLevel from player's choice
+     */
+    private AILevel getWordleLevel() {
+        printWordleLevelMenu();
+
+        while (true) {
+            String input = readInput().toLowerCase();
+
+            if (input.isBlank())
+                return AILevel.WORDLE;
+
+            if (input.equals("wordleai") || input.equals("1"))
+                return AILevel.WORDLEAI;
+
+            output.println("Please enter WordleAI, the number 1 or just press ENTER");
+        }
+    }
+
+    /**
+     * prints the Wordle level menu
+     */
+    private void printWordleLevelMenu() {
+        output.println("If you want to play against AI, please make a choice of your game level" +
+                "\nor just press ENTER to start a single player game:");
+        output.println("1.WordleAI");
+    }
+
     /**
      * prints the game level menu
      */
     private void printGameLevelMenu() {
-        System.out.println("If you want to play against AI, please make a choice of your game level" +
+        output.println("If you want to play against AI, please make a choice of your game level" +
                 "\nor just press ENTER to start a single player game:");
-        System.out.println("1.EasyAI");
-        System.out.println("2.MediumAI");
-        System.out.println("3.HardAI");
+        output.println("1.EasyAI");
+        output.println("2.MediumAI");
+        output.println("3.HardAI");
     }
 
     /**
@@ -182,12 +284,13 @@ public class GameManager {
         if (!game.isInteractiveMode()) return;
         String code = getPlayerSecretCode();
         game.setUpPlayerCode(code);
-        System.out.println(">>>>>");
+        output.println(">>>>>");
     }
 
     /**
      * prompts player to enter a secret code
      * Bulls and Cows : EasyAI, MediumAI and HardAI need player to enter their secret code
+     * Wordle : WordleAI needs player to enter a secret word from the dictionary
      * Otherwise, only computer can generate a random code at the beginning of the game
      *
      * @return secretCode from player
@@ -196,12 +299,17 @@ public class GameManager {
         String code = null;
         boolean isCodeValid = false;
         while (!isCodeValid) {
-            System.out.println("Please Enter your secret code:");
-            code = Keyboard.readInput();
-            if (isDigitalCodeValid(code)) {
-                isCodeValid = true;
+            output.println("Please Enter your secret code:");
+            code = readInput();
+            if (GameMode.WORDLE == game.getGameMode()) {
+                isCodeValid = game.isWordleSecretValid(code);
+                if (!isCodeValid)
+                    output.println("Your secret word is invalid! Please enter a 5 letter word from the dictionary!");
             } else {
-                System.out.println("Your secret code is invalid! Please enter a number of non-repetitive 4 digits from 0-9!");
+                code = code.toUpperCase();
+                isCodeValid = game.isDigitalCodeValid(code);
+                if (!isCodeValid)
+                    output.println("Your secret code is invalid! Please enter " + game.getCodeSpace().getDescription() + "!");
             }
         }
         return code;
@@ -214,31 +322,32 @@ public class GameManager {
     private void processPlayerGuess() {
         while (!game.isGameEnd()) {
             String guess = getPlayerGuess();
-            System.out.println("-----");
+            output.println("-----");
             game.guessSecretCodes(guess);
         }
     }
 
     /**
      * prompts player to enter a valid guess
-     * format : non-repetitive 4 digits from 0 to 9
+     * format : non-repetitive symbols of the code space, 4 digits from 0 to 9 by default
      */
     private String getPlayerGuess() {
         String input = "";
         boolean isInputValid = false;
         while (!isInputValid) {
-            System.out.println("Enter your guess:");
-            input = Keyboard.readInput();
+            output.println("Enter your guess:");
+            input = readInput();
             switch (game.getGameMode()) {
                 case BULLSANDCOWS:
-                    isInputValid = isDigitalCodeValid(input);
+                    input = input.toUpperCase();
+                    isInputValid = game.isDigitalCodeValid(input);
                     if (!isInputValid)
-                        System.out.println("Your guess is invalid! Please enter a number of non-repetitive 4 digits from 0-9!");
+                        output.println("Your guess is invalid! Please enter " + game.getCodeSpace().getDescription() + "!");
                     break;
                 case WORDLE:
                     isInputValid = game.isWordleGuessValid(input);
                     if (!isInputValid)
-                        System.out.println("Your guess is invalid! Please enter a 5 letter word from A-Z or a-z!");
+                        output.println("Your guess is invalid! Please enter a 5 letter word from A-Z or a-z!");
                     break;
                 default:
                     break;
@@ -247,24 +356,15 @@ public class GameManager {
         return input;
     }
 
-    /**
-     * checks if the digital code is valid
-     *
-     * @param code non-repetitive 4-digits code from 0 to 9
-     * @return is code valid
-     */
-    private boolean isDigitalCodeValid(String code) {
-        return code.matches("^(?:([0-9])(?!.*\\1)){4}");
-    }
-
     /**
      * processes writing the game result to a txt file
      */
     private void processWriteToTxtFile() {
-        System.out.println(">>>");
-        System.out.println("If you want to save this game result to a file, please enter a file name: ");
-        System.out.print("Hint : Type a file name, or just press ENTER to quit: ");
-        String fileName = Keyboard.readInput();
+        if (!resultFileEnabled) return;
+        output.println(">>>");
+        output.println("If you want to save this game result to a file, please enter a file name: ");
+        output.print("Hint : Type a file name, or just press ENTER to quit: ");
+        String fileName = readInput();
         if (fileName.isBlank()) return;
         game.writeResultToTxtFile(fileName);
 
@@ -274,6 +374,37 @@ public class GameManager {
      * Prints the exit message of the game
      */
     private void printExitMessage() {
-        System.out.println("Thank you for playing!");
+        output.println("Thank you for playing!");
+    }
+
+    /**
+     * reads a line of player's input
+     * the end of input, or a connection timing out, ends the game session wherever it is
+     *
+     * @return A line of input
+     * @throws EndOfInputException if the input ends
+     */
+    private String readInput() {
+        String line;
+        if (input == null) {
+            line = Keyboard.readInput();
+        } else {
+            output.flush();
+            try {
+                line = input.readLine();
+            } catch (IOException e) {
+                line = null;
+            }
+        }
+        if (line == null)
+            throw new EndOfInputException();
+        return line;
+    }
+
+    /**
+     * thrown when player's input ends, the game session stops without an error
+     */
+    private static final class EndOfInputException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
     }
 }
@@ -0,0 +1,186 @@
+import industry.assignment02.log.GameLog;
+import industry.assignment02.metrics.GameMetrics;
+import industry.assignment02.solver.CodeSpace;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A game server hosting many concurrent game sessions in one process
+ * every TCP connection is a session of its own GameManager, reading player's input line by line
+ * and writing the same text the console game prints.
+ * The games of all sessions are appended to one game log instead of a txt file per game.
+ * The computer of a session guesses within a move budget, so a session can not hold the CPU for long.
+ * The game metrics of the server are enabled and exported over JMX.
+ */
+public class GameServer implements AutoCloseable {
+    public static final int DEFAULT_PORT = 4455;
+    public static final String GAME_LOG_FILENAME = "games.log";
+    private static final int IDLE_TIMEOUT_MILLIS = 30 * 60 * 1000;
+    private static final long MOVE_BUDGET_MILLIS = 500;
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService sessions;
+    private final CodeSpace codeSpace;
+    private GameLog gameLog;
+    private final AtomicInteger activeSessions = new AtomicInteger();
+
+    /**
+     * constructor of GameServer
+     *
+     * @param port      the TCP port to listen on, 0 for any free port
+     * @param codeSpace the code space of Bulls and Cows secret codes of every session
+     * @param sessions  the executor running the sessions, one task per session
+     * @throws IOException if the port can not be opened
+     */
+    public GameServer(int port, CodeSpace codeSpace, ExecutorService sessions) throws IOException {
+        this.serverSocket = new ServerSocket(port);
+        this.codeSpace = codeSpace;
+        this.sessions = sessions;
+    }
+
+    /**
+     * Starts a game server
+     *
+     * @param args The array of string parsed from command-line: [port [codeLength [alphabetSize]]]
+     */
+    public static void main(String[] args) {
+        try {
+            int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+            CodeSpace codeSpace = CodeSpace.DEFAULT;
+            if (args.length > 1) {
+                int length = Integer.parseInt(args[1]);
+                codeSpace = CodeSpace.of(length, args.length > 2 ? Integer.parseInt(args[2]) : Math.max(10, length));
+            }
+            try (GameLog gameLog = GameLog.open(Paths.get(GAME_LOG_FILENAME));
+                 GameServer server = new GameServer(port, codeSpace, newSessionExecutor())) {
+                server.setGameLog(gameLog);
+                GameMetrics.getInstance().setEnabled(true);
+                if (!GameMetrics.registerMBean())
+                    System.out.println("Error: The game metrics can not be exported over JMX.");
+                System.out.println("Game server listening on port " + server.getPort() + ", code space " + codeSpace
+                        + ", logging games to " + gameLog.getPath() + ", metrics at " + GameMetrics.OBJECT_NAME);
+                server.serve();
+            }
+        } catch (IllegalArgumentException | IOException e) {
+            System.out.println("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * returns an executor starting a thread per session
+     * virtual threads are used when the Java runtime has them, otherwise daemon platform threads
+     *
+     * @return A session executor
+     */
+    public static ExecutorService newSessionExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger threadCount = new AtomicInteger();
+            return Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(null, task, "game-session-" + threadCount.incrementAndGet(), 256 * 1024);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * sets the game log the games of all sessions are appended to
+     *
+     * @param gameLog A shared game log, or null not to log games
+     */
+    public void setGameLog(GameLog gameLog) {
+        this.gameLog = gameLog;
+    }
+
+    /**
+     * returns the port the server listens on
+     *
+     * @return port
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * returns the number of sessions being played
+     *
+     * @return the number of active sessions
+     */
+    public int getActiveSessions() {
+        return activeSessions.get();
+    }
+
+    /**
+     * accepts connections until the server is closed, each connection starts a new session
+     *
+     * @throws IOException if accepting a connection fails
+     */
+    public void serve() throws IOException {
+        while (!serverSocket.isClosed()) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (SocketException e) {
+                if (serverSocket.isClosed()) return;
+                throw e;
+            }
+            sessions.execute(() -> runSession(socket));
+        }
+    }
+
+    /**
+     * plays a game session over a connection, the connection is closed when the game ends
+     * the result of a session can not be saved to a file of the server
+     *
+     * @param socket the connection of the player
+     */
+    private void runSession(Socket socket) {
+        activeSessions.incrementAndGet();
+        try (socket) {
+            socket.setSoTimeout(IDLE_TIMEOUT_MILLIS);
+            BufferedReader input = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            PrintStream output = new PrintStream(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+            GameManager gameManager = new GameManager(input, output);
+            gameManager.setCodeSpace(codeSpace);
+            gameManager.setGameLog(gameLog);
+            gameManager.setResultFileEnabled(false);
+            gameManager.setMoveBudget(MOVE_BUDGET_MILLIS);
+            gameManager.start();
+            output.flush();
+        } catch (IOException e) {
+            System.out.println("Error: session " + socket.getRemoteSocketAddress() + " " + e.getMessage());
+        } finally {
+            activeSessions.decrementAndGet();
+        }
+    }
+
+    /**
+     * stops accepting connections and waits briefly for the sessions being played
+     *
+     * @throws IOException if the server socket can not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        sessions.shutdown();
+        try {
+            sessions.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package industry.assignment02.dictionary;
+
+import industry.assignment02.game.WordleFileNotFoundException;
+import industry.assignment02.game.WordleScorer;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.CRC32;
+
+/**
+ * An immutable index of the Wordle words in a dictionary file
+ * the file is memory-mapped and parsed once, words are separated by commas or line breaks.
+ * Valid words are five letters from A - Z or a - z, they are stored lowercase, sorted and without duplicates
+ * in a single byte array of five bytes per word. Dictionaries are shared by every game of the process.
+ */
+public final class WordleDictionary {
+    public static final int WORD_LENGTH = 5;
+    private static final ConcurrentMap<Path, WordleDictionary> SHARED = new ConcurrentHashMap<>();
+    private static volatile boolean hotReload;
+
+    private final Path path;
+    private final FileTime lastModified;
+    private final long fileSize;
+    private final byte[] words;
+    private final long fingerprint;
+
+    private WordleDictionary(Path path, FileTime lastModified, long fileSize, byte[] words) {
+        this.path = path;
+        this.lastModified = lastModified;
+        this.fileSize = fileSize;
+        this.words = words;
+        CRC32 crc = new CRC32();
+        crc.update(words, 0, words.length);
+        this.fingerprint = (long) size() << 32 | crc.getValue();
+    }
+
+    /**
+     * returns the shared dictionary of the file, loads it on first use
+     * when hot reload is on, the file is loaded again if it has changed since it was loaded
+     *
+     * @param fileName A name of dictionary file
+     * @return the dictionary of the file
+     * @throws WordleFileNotFoundException when the file cannot be found or read
+     */
+    public static WordleDictionary load(String fileName) throws WordleFileNotFoundException {
+        Path path = Paths.get(fileName).toAbsolutePath().normalize();
+        WordleDictionary dictionary = SHARED.get(path);
+        if (dictionary != null && (!hotReload || !dictionary.isModified()))
+            return dictionary;
+        dictionary = read(path);
+        SHARED.put(path, dictionary);
+        return dictionary;
+    }
+
+    /**
+     * reads the dictionary file every time, without sharing it
+     *
+     * @param fileName A name of dictionary file
+     * @return A new dictionary of the file
+     * @throws WordleFileNotFoundException when the file cannot be found or read
+     */
+    public static WordleDictionary read(String fileName) throws WordleFileNotFoundException {
+        return read(Paths.get(fileName).toAbsolutePath().normalize());
+    }
+
+    /**
+     * sets if a shared dictionary is loaded again when its file changes, false by default
+     *
+     * @param hotReload reload changed dictionary files or not
+     */
+    public static void setHotReload(boolean hotReload) {
+        WordleDictionary.hotReload = hotReload;
+    }
+
+    /**
+     * check Wordle word format: five letters and contains only letters A - Z or a - z
+     *
+     * @param word A Wordle word
+     * @return A result of format check
+     */
+    public static boolean isWordleWordValid(CharSequence word) {
+        if (word == null || word.length() != WORD_LENGTH) return false;
+        for (int i = 0; i < WORD_LENGTH; i++) {
+            if (toLetter(word.charAt(i)) < 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * returns the path of the dictionary file
+     *
+     * @return path of the file
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * returns a fingerprint of the words, it changes when the words change
+     *
+     * @return the number of words and the CRC32 checksum of the words
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * returns the number of words
+     *
+     * @return the number of words
+     */
+    public int size() {
+        return words.length / WORD_LENGTH;
+    }
+
+    /**
+     * returns the word at the index
+     *
+     * @param index index of word
+     * @return A lowercase word
+     */
+    public String getWord(int index) {
+        return new String(words, index * WORD_LENGTH, WORD_LENGTH, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * returns a lowercase letter of the word at the index
+     *
+     * @param index    index of word
+     * @param position position of letter in the word
+     * @return A lowercase letter from a to z
+     */
+    public byte getLetter(int index, int position) {
+        return words[index * WORD_LENGTH + position];
+    }
+
+    /**
+     * scores a word as a guess against a word as the target
+     *
+     * @param target index of target word
+     * @param guess  index of guess word
+     * @return packed tile pattern, see WordleScorer
+     */
+    public int scoreGuess(int target, int guess) {
+        return WordleScorer.score(words, target * WORD_LENGTH, words, guess * WORD_LENGTH, WORD_LENGTH);
+    }
+
+    /**
+     * returns the index of a word, ignoring case
+     *
+     * @param word A Wordle word
+     * @return index of word, or -1 if the word is not in this dictionary
+     */
+    public int indexOf(CharSequence word) {
+        if (!isWordleWordValid(word)) return -1;
+        int key = packWord(word);
+        int low = 0, high = size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int value = packWord(words, middle * WORD_LENGTH);
+            if (value < key) low = middle + 1;
+            else if (value > key) high = middle - 1;
+            else return middle;
+        }
+        return -1;
+    }
+
+    /**
+     * checks if the file has changed since this dictionary was loaded
+     *
+     * @return is the file changed
+     */
+    private boolean isModified() {
+        try {
+            return !lastModified.equals(Files.getLastModifiedTime(path))
+                    || fileSize != Files.size(path);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * maps the file and collects its valid words
+     *
+     * @param path path of dictionary file
+     * @return A new dictionary
+     */
+    private static WordleDictionary read(Path path) throws WordleFileNotFoundException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            FileTime lastModified = Files.getLastModifiedTime(path);
+            long fileSize = channel.size();
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            int[] packedWords = new int[(int) (fileSize / (WORD_LENGTH + 1)) + 1];
+            int count = 0;
+            int tokenLength = 0;
+            boolean isTokenValid = true;
+            int packed = 0;
+            for (long i = 0; i <= fileSize; i++) {
+                int c = (i < fileSize) ? buffer.get() & 0xFF : ',';
+                if (c == ',' || c == '\r' || c == '\n') {
+                    if (isTokenValid && tokenLength == WORD_LENGTH)
+                        packedWords[count++] = packed;
+                    tokenLength = 0;
+                    isTokenValid = true;
+                    packed = 0;
+                    continue;
+                }
+                int letter = toLetter((char) c);
+                if (letter < 0 || tokenLength == WORD_LENGTH)
+                    isTokenValid = false;
+                else
+                    packed = (packed << 5) | letter;
+                tokenLength++;
+            }
+            return new WordleDictionary(path, lastModified, fileSize, unpackWords(packedWords, count));
+        } catch (NoSuchFileException e) {
+            throw new WordleFileNotFoundException("Something went wrong! Wordle cannot be initialized! " +
+                    "The system cannot find Wordle File: " + path.getFileName());
+        } catch (IOException e) {
+            throw new WordleFileNotFoundException("Something went wrong! Wordle cannot be initialized! " +
+                    "The system cannot read Wordle File: " + path.getFileName() + " " + e.getMessage());
+        }
+    }
+
+    /**
+     * sorts the packed words, removes duplicates and unpacks them to lowercase letters
+     *
+     * @return five bytes per word
+     */
+    private static byte[] unpackWords(int[] packedWords, int count) {
+        Arrays.sort(packedWords, 0, count);
+        byte[] words = new byte[count * WORD_LENGTH];
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && packedWords[i] == packedWords[i - 1]) continue;
+            for (int p = 0; p < WORD_LENGTH; p++)
+                words[unique * WORD_LENGTH + p] = (byte) ('a' + ((packedWords[i] >>> (5 * (WORD_LENGTH - 1 - p))) & 31));
+            unique++;
+        }
+        return Arrays.copyOf(words, unique * WORD_LENGTH);
+    }
+
+    /**
+     * packs five letters of a word into an int, five bits per letter, in alphabetical order
+     */
+    private static int packWord(CharSequence word) {
+        int packed = 0;
+        for (int i = 0; i < WORD_LENGTH; i++)
+            packed = (packed << 5) | toLetter(word.charAt(i));
+        return packed;
+    }
+
+    /**
+     * packs five lowercase letters of the byte array into an int, five bits per letter, in alphabetical order
+     */
+    private static int packWord(byte[] letters, int offset) {
+        int packed = 0;
+        for (int i = 0; i < WORD_LENGTH; i++)
+            packed = (packed << 5) | (letters[offset + i] - 'a');
+        return packed;
+    }
+
+    /**
+     * returns the letter number of a char from 0 to 25, ignoring case
+     *
+     * @return letter number, or -1 if the char is not a letter from A - Z or a - z
+     */
+    private static int toLetter(char c) {
+        if (c >= 'a' && c <= 'z') return c - 'a';
+        if (c >= 'A' && c <= 'Z') return c - 'A';
+        return -1;
+    }
+}
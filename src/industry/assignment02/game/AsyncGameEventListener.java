@@ -0,0 +1,84 @@
+package industry.assignment02.game;
+
+import java.io.PrintStream;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A listener printing the events of games as the text of the console game without blocking the games
+ * a game only queues the text of an event, a writer thread prints the queued text of all games in one batch,
+ * so many games running in one process do not contend for the output stream.
+ * The text is printed after the game moves on, so the output stream should not be shared with the player's prompts.
+ */
+public class AsyncGameEventListener extends ConsoleGameEventListener implements AutoCloseable {
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "game-event-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final PrintStream out;
+    private final Executor writer;
+    private final Queue<String> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    /**
+     * constructor of AsyncGameEventListener, queued text is printed by a shared writer thread
+     *
+     * @param out the output stream of game messages
+     */
+    public AsyncGameEventListener(PrintStream out) {
+        this(out, WRITER);
+    }
+
+    /**
+     * constructor of AsyncGameEventListener
+     *
+     * @param out    the output stream of game messages
+     * @param writer the executor printing the queued text
+     */
+    public AsyncGameEventListener(PrintStream out, Executor writer) {
+        super(out);
+        this.out = out;
+        this.writer = writer;
+    }
+
+    /**
+     * queues the text of an event, a flush is scheduled unless one is already scheduled
+     *
+     * @param text lines of text
+     */
+    @Override
+    protected void write(String text) {
+        pending.add(text);
+        if (flushScheduled.compareAndSet(false, true))
+            writer.execute(this::flush);
+    }
+
+    /**
+     * prints all queued text in one batch
+     * the scheduled flag is cleared first, so text queued while printing schedules the next flush
+     */
+    public synchronized void flush() {
+        flushScheduled.set(false);
+        StringBuilder batch = new StringBuilder();
+        String text;
+        while ((text = pending.poll()) != null)
+            batch.append(text);
+        if (batch.length() == 0) return;
+        out.print(batch);
+        out.flush();
+    }
+
+    /**
+     * prints the text still queued
+     */
+    @Override
+    public void close() {
+        flush();
+    }
+}
@@ -0,0 +1,72 @@
+package industry.assignment02.game;
+
+import java.io.PrintStream;
+
+/**
+ * A listener printing the events of a game as the text of the console game
+ */
+public class ConsoleGameEventListener implements GameEventListener {
+    private final PrintStream out;
+
+    /**
+     * constructor of ConsoleGameEventListener
+     *
+     * @param out the output stream of game messages
+     */
+    public ConsoleGameEventListener(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void onTurnStart(int turn) {
+        write("Turn " + turn + ":\n");
+    }
+
+    @Override
+    public void onGuessResult(Result result) {
+        StringBuilder text = new StringBuilder().append(result).append('\n');
+        if (result.isGuessCorrect())
+            text.append(result.getWinnerMessage()).append('\n');
+        write(text.toString());
+    }
+
+    @Override
+    public void onOutOfTries(String secretCode, boolean interactive) {
+        write(getOutOfTriesMessage(secretCode, interactive) + "\n");
+    }
+
+    @Override
+    public void onResultSaved(String fileName) {
+        write("Game Result saved successfully to " + fileName + "!\n");
+    }
+
+    @Override
+    public void onError(String message) {
+        write("Error: " + message + "\n");
+    }
+
+    /**
+     * returns the message of a game nobody wins
+     *
+     * @param secretCode  the computer's secret code, or null not to print it
+     * @param interactive did the player play against the computer
+     * @return A message
+     */
+    public static String getOutOfTriesMessage(String secretCode, boolean interactive) {
+        StringBuilder resultMsg = new StringBuilder("Sorry! You ran out of tries! ");
+        if (interactive)
+            resultMsg.append("Result is a draw. ");
+        if (secretCode != null)
+            resultMsg.append("Secret Code was ").append(secretCode);
+        return resultMsg.toString();
+    }
+
+    /**
+     * writes the text of an event
+     *
+     * @param text lines of text
+     */
+    protected void write(String text) {
+        out.print(text);
+    }
+}
@@ -1,18 +1,68 @@
 package industry.assignment02.game;
 
+import industry.assignment02.log.GameLog;
+import industry.assignment02.metrics.GameMetrics;
 import industry.assignment02.role.*;
-
-import java.io.*;
+import industry.assignment02.solver.CodeSpace;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class Game {
+    public static final int BULLSANDCOWS_MAX_ATTEMPTS = 7;
+    public static final int WORDLE_MAX_ATTEMPTS = 6;
+    private static final int SNAPSHOT_MAGIC = 0x42435347;
+    private static final int SNAPSHOT_VERSION = 5;
     private Player player;
     private Computer computer;
     private GameMode gameMode;
+    private CodeSpace codeSpace = CodeSpace.DEFAULT;
     private int maxAttempts;
     private int attempts;
     private boolean gameEnd;
+    private final GameEventListener listener;
+    private GameLog gameLog;
+    private long sessionId;
+    private long seed = ThreadLocalRandom.current().nextLong();
+    private Executor guessExecutor = ForkJoinPool.commonPool();
+    private CompletableFuture<String> nextComputerGuess;
+    private long moveBudgetMillis;
 
+    /**
+     * constructor of Game, messages are printed to the console
+     */
     public Game() {
+        this(System.out);
+    }
+
+    /**
+     * constructor of Game
+     * each game session of a server prints its messages to its own output stream
+     *
+     * @param out the output stream of game messages
+     */
+    public Game(PrintStream out) {
+        this(new ConsoleGameEventListener(out));
+    }
+
+    /**
+     * constructor of Game
+     *
+     * @param listener the listener of game events, GameEventListener.NONE for a game without output
+     */
+    public Game(GameEventListener listener) {
+        this.listener = listener;
         player = new Player();
     }
 
@@ -34,6 +84,85 @@ public class Game {
         this.gameMode = gameMode;
     }
 
+    /**
+     * returns the code space of Bulls and Cows secret codes
+     *
+     * @return codeSpace
+     */
+    public CodeSpace getCodeSpace() {
+        return this.codeSpace;
+    }
+
+    /**
+     * sets the code space of Bulls and Cows secret codes, before the game is initialized
+     *
+     * @param codeSpace codeSpace
+     */
+    public void setCodeSpace(CodeSpace codeSpace) {
+        this.codeSpace = codeSpace;
+    }
+
+    /**
+     * sets the game log every turn of the game is appended to, before the first guess
+     *
+     * @param gameLog A shared game log, or null not to log the game
+     */
+    public void setGameLog(GameLog gameLog) {
+        this.gameLog = gameLog;
+    }
+
+    /**
+     * returns the session id of the game in the game log
+     *
+     * @return sessionId, 0 before the game is logged
+     */
+    public long getSessionId() {
+        return sessionId;
+    }
+
+    /**
+     * returns the seed of the computer's random choices, recorded in the game log for replays
+     *
+     * @return seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * sets the seed of the computer's random choices before the game is initialized,
+     * a game of the same seed and the same player's input plays the same
+     *
+     * @param seed the seed
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * sets the executor computing the computer's next guess in the background
+     * the computer's guess depends only on its own guess results, so it is computed as soon as the latest one is known,
+     * while the player thinks, and collected when the player guesses
+     *
+     * @param guessExecutor the executor of the computer's guesses, or null to guess when the player guesses
+     */
+    public void setGuessExecutor(Executor guessExecutor) {
+        this.guessExecutor = guessExecutor;
+    }
+
+    /**
+     * sets the time budget of the computer's guess, the computer guesses the best guess found when it runs out
+     *
+     * @param moveBudgetMillis the budget in milliseconds, 0 for no budget
+     */
+    public void setMoveBudget(long moveBudgetMillis) {
+        if (moveBudgetMillis < 0)
+            throw new IllegalArgumentException("The move budget can not be negative!");
+        this.moveBudgetMillis = moveBudgetMillis;
+        if (computer != null)
+            computer.setMoveBudget(moveBudgetMillis);
+    }
+
     /**
      * after guess, the value of attempts plus 1
      */
@@ -53,23 +182,21 @@ public class Game {
      * initializes a new game: set up max attempts, create a computer object, set up secret code
      */
     public void init(AILevel level) throws WordleFileNotFoundException {
-        maxAttempts = (gameMode == GameMode.BULLSANDCOWS) ? 7 : 6;
+        maxAttempts = (gameMode == GameMode.BULLSANDCOWS) ? BULLSANDCOWS_MAX_ATTEMPTS : WORDLE_MAX_ATTEMPTS;
         initComputer(level);
+        computer.setCodeSpace(codeSpace);
+        computer.setSeed(seed);
+        computer.setMoveBudget(moveBudgetMillis);
         setUpComputerCode();
+        GameMetrics.getInstance().gameStarted(level);
+        speculateComputerGuess();
     }
 
     /**
-     * creates a corresponding computer object
-     * MediumAI and HardAI must create the corresponding computer object
-     * otherwiese, create EasyAI object
+     * creates the computer object of the level
      */
     private void initComputer(AILevel level) {
-        if (AILevel.MEDIUMAI == level)
-            computer = new MediumAI(level);
-        else if (AILevel.HARDAI == level)
-            computer = new HardAI(level);
-        else
-            computer = new EasyAI(level);
+        computer = level.newComputer();
     }
 
     /**
@@ -80,8 +207,11 @@ public class Game {
         if (computer == null) return;
         if (this.gameMode == GameMode.BULLSANDCOWS)
             computer.genComputerCode();
-        else
+        else {
+            long start = GameMetrics.startTimer();
             computer.genWordleCode();
+            GameMetrics.getInstance().recordGenWordleCode(start);
+        }
     }
 
 
@@ -103,63 +233,148 @@ public class Game {
      */
     public void guessSecretCodes(String playerGuess) {
         if (isMaxAttemptsFull()) return;
-        System.out.println("Turn " + (attempts + 1) + ":");
+        long turnStart = GameMetrics.startTimer();
+        if (attempts == 0)
+            logStart();
+        listener.onTurnStart(attempts + 1);
         Result playerResult = dispatchScoreGuess("You", computer.getSecretCode(), playerGuess);
         player.getGuessResults().add(playerResult);
         player.setWinFlag(playerResult != null && playerResult.isGuessCorrect());
         printandCheckGuessResult(playerResult);
+        logTurn(true, playerResult);
         if (!gameEnd && isInteractiveMode()) {
-            String computerGuess;
-            computerGuess = computer.guessPlayerCode();
+            String computerGuess = takeComputerGuess();
             Result computerResult = dispatchScoreGuess("Computer", player.getSecretCode(), computerGuess);
             computer.getGuessResults().add(computerResult);
             computer.setWinFlag(computerResult != null && computerResult.isGuessCorrect());
             printandCheckGuessResult(computerResult);
+            logTurn(false, computerResult);
+            if (!gameEnd)
+                speculateComputerGuess();
         }
         addAttempt();
         if (isMaxAttemptsFull() && !gameEnd) {
             setGameEnd(true);
-            System.out.println(getGameResultMessage(true));
+            listener.onOutOfTries(computer.getSecretCode(), isInteractiveMode());
+        }
+        GameMetrics.getInstance().recordTurn(turnStart);
+        if (gameEnd) {
+            logEnd();
+            GameMetrics.getInstance().gameFinished(computer.getAiLevel(), player.isWinner(), computer.isWinner());
         }
     }
 
     /**
-     * if no one wins the game, then returns the String of the game result
+     * starts computing the computer's next guess in the background, if the computer guesses in this game
+     * the computer's guess results are not changed until the guess is taken, so the computation sees a stable history
+     */
+    private void speculateComputerGuess() {
+        if (guessExecutor == null || computer == null || !isInteractiveMode()) return;
+        nextComputerGuess = CompletableFuture.supplyAsync(this::timeComputerGuess, guessExecutor);
+    }
+
+    /**
+     * computer guesses player's secret code, the time of the guess itself is recorded in the game metrics
      *
-     * @param isPrintSecretCode needs to print secret code or not
+     * @return computer's guess
      */
-    private String getGameResultMessage(boolean isPrintSecretCode) {
-        StringBuilder resultMsg = new StringBuilder("Sorry! You ran out of tries! ");
-        if (isInteractiveMode())
-            resultMsg.append("Result is a draw. ");
-        if (isPrintSecretCode)
-            resultMsg.append("Secret Code was " + computer.getSecretCode());
-        return resultMsg.toString();
+    private String timeComputerGuess() {
+        long guessStart = GameMetrics.startTimer();
+        String computerGuess = computer.guessPlayerCode();
+        GameMetrics.getInstance().recordComputerGuess(computer.getAiLevel(), guessStart);
+        return computerGuess;
+    }
+
+    /**
+     * takes the computer's guess computed in the background, or computes it now if none is computed
+     *
+     * @return computer's guess
+     */
+    private String takeComputerGuess() {
+        CompletableFuture<String> pending = nextComputerGuess;
+        nextComputerGuess = null;
+        if (pending == null)
+            return timeComputerGuess();
+        try {
+            return pending.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+
+    /**
+     * logs the start of the game with both secret codes under a new session id
+     */
+    private void logStart() {
+        if (gameLog == null) return;
+        sessionId = GameLog.newSessionId();
+        try {
+            gameLog.logStart(sessionId, gameMode, isInteractiveMode(), codeSpace.getLength(), codeSpace.getAlphabetSize(),
+                    player.getSecretCode(), computer.getSecretCode(), seed);
+        } catch (IOException e) {
+            stopLogging(e);
+        }
+    }
+
+    /**
+     * logs a guess result of the current turn
+     *
+     * @param isPlayer is the guess player's guess
+     * @param result   the guess result
+     */
+    private void logTurn(boolean isPlayer, Result result) {
+        if (gameLog == null) return;
+        try {
+            gameLog.logTurn(sessionId, attempts + 1, isPlayer, result);
+        } catch (IOException e) {
+            stopLogging(e);
+        }
+    }
+
+    /**
+     * logs the end of the game
+     */
+    private void logEnd() {
+        if (gameLog == null) return;
+        try {
+            gameLog.logEnd(sessionId);
+        } catch (IOException e) {
+            stopLogging(e);
+        }
+    }
+
+    /**
+     * reports a game log error, the rest of the game is not logged
+     */
+    private void stopLogging(IOException e) {
+        gameLog = null;
+        listener.onError("Game log: " + e.getMessage());
     }
 
     /**
      * checks if player plays against AI
-     * A player can choose to play against EASYAI, MEDIUMAI, HARDAI
+     * A player can choose to play against EASYAI, MEDIUMAI, HARDAI or WORDLEAI
      *
      * @return is a game of multi players(player vs computer)
      */
     public boolean isInteractiveMode() {
         AILevel level = computer.getAiLevel();
-        return AILevel.EASYAI == level || AILevel.MEDIUMAI == level || AILevel.HARDAI == level;
+        return AILevel.EASYAI == level || AILevel.MEDIUMAI == level || AILevel.HARDAI == level
+                || AILevel.WORDLEAI == level;
     }
 
     /**
-     * prints and checks guess result
-     * prints game result and check if bulls count number is 4, then game ends and prints winner message
+     * reports and checks guess result
+     * reports the guess result to the listener and if the guess is correct, then game ends
      */
     private void printandCheckGuessResult(Result result) {
         if (result == null)
             throw new NullPointerException("There is no guess Result to be print!");
-        System.out.println(result);
-        if (result.isGuessCorrect()) {
+        listener.onGuessResult(result);
+        if (result.isGuessCorrect())
             setGameEnd(true);
-            System.out.println(result.getWinnerMessage());
-        }
     }
 
     /**
@@ -171,22 +386,31 @@ public class Game {
      * @return A result of guess
      */
     private Result dispatchScoreGuess(String guesser, String secretCode, String guess) {
+        long start = GameMetrics.startTimer();
+        Result result;
         switch (gameMode) {
             case BULLSANDCOWS:
-                return scoreBullsAndCowsResult(guesser, secretCode, guess);
+                result = scoreBullsAndCowsResult(guesser, secretCode, guess);
+                break;
             case WORDLE:
-                return scoreWordleResult(guesser, secretCode, guess);
+                result = scoreWordleResult(guesser, secretCode, guess);
+                break;
             default:
-                return null;
+                result = null;
         }
+        GameMetrics.getInstance().recordScore(start);
+        return result;
     }
 
     /**
      * scores guess result of Bulls and Cows
      *
+     * @param guesser    A name of game role
+     * @param secretCode A secret code
+     * @param guess      A guess of secret code
      * @return A result of guess
      */
-    private Result scoreBullsAndCowsResult(String guesser, String secretCode, String guess) {
+    public static Result scoreBullsAndCowsResult(String guesser, String secretCode, String guess) {
 
         if (secretCode == null || secretCode.isBlank())
             throw new NullPointerException(guesser.replace("You", "Your") + " secretCode is NULL!");
@@ -209,15 +433,14 @@ public class Game {
 
     /**
      * scores the result of player's guess for wordle
-     * checks bulls count first, and marks the matched char to *
-     * then checks cows count from the marked String
+     * bulls are the GREEN tiles and cows are the YELLOW tiles of the tile pattern
      *
      * @param guesser A name of game role
      * @param target  A secret word
      * @param guess   A player's guess
      * @return A result of player's guess
      */
-    private Result scoreWordleResult(String guesser, String target, String guess) {
+    public static Result scoreWordleResult(String guesser, String target, String guess) {
 
         if (target == null || target.isBlank())
             throw new NullPointerException("Wordle's secret word is NULL!");
@@ -225,24 +448,9 @@ public class Game {
         if (guess == null || guess.isBlank())
             throw new NullPointerException("Player's Wordle guess is NULL!");
 
-        int bulls = 0, cows = 0;
-
-        Result result = new Result(guesser, guess);
-
-        for (int i = 0; i < target.length(); i++) {
-            if (target.toLowerCase().charAt(i) == guess.toLowerCase().charAt(i)) {
-                bulls++;
-                target = target.substring(0, i) + "*" + target.substring(i + 1);
-            }
-        }
-        result.setBulls(bulls);
-
-        for (int i = 0; i < target.length(); i++) {
-            if (target.toLowerCase().contains(String.valueOf(guess.toLowerCase().charAt(i))))
-                cows++;
-        }
-        result.setCows(cows);
-
+        int pattern = WordleScorer.score(target, guess);
+        Result result = new Result(guesser, guess, WordleScorer.countGreen(pattern), WordleScorer.countYellow(pattern));
+        result.setTilePattern(pattern);
         return result;
     }
 
@@ -258,45 +466,140 @@ public class Game {
 
     /**
      * saves game result to a text file
-     * if the game has only one player(not interactive mode), then skips the step of printing computer result
-     * if the result of computer's guess is null, then end while loop(no more result needs to be printed)
      *
      * @param fileName A fileName entered by player
      */
     public void writeResultToTxtFile(String fileName) {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(fileName))) {
-            writer.printf("%s\n", (GameMode.BULLSANDCOWS.equals(gameMode) ? "Bulls & Cows" : "Wordle") + " game result.");
-
-            if (isInteractiveMode())
-                writer.printf("%s\n", "Your code: " + player.getSecretCode());
-            writer.printf("%s\n", "Computer's code: " + computer.getSecretCode());
-
-            for (int i = 0; i < player.getGuessResults().size(); i++) {
-                writer.print("---\n");
-                writer.printf("%s\n", "Turn " + (i + 1) + ":");
-                Result playerResult = player.getGuessResults().get(i);
-                writer.printf("%s\n", playerResult.toString());
-                if (playerResult.isGuessCorrect())
-                    writer.printf("%s\n", playerResult.getWinnerMessage());
-                if (!isInteractiveMode()) continue;
-                if (i >= computer.getGuessResults().size()) break;
-                Result computerResult = computer.getGuessResults().get(i);
-                writer.printf("%s\n", computerResult.toString());
-                if (computerResult.isGuessCorrect())
-                    writer.printf("%s\n", computerResult.getWinnerMessage());
-            }
-
-            if (!player.isWinner() && !computer.isWinner()) {
-                writer.print(">>>\n");
-                writer.printf("%s", getGameResultMessage(false));
-            }
-
-            System.out.println("Game Result saved successfully to " + fileName + "!");
-        } catch (IOException e) {
-            System.out.println("Error:　" + e.getMessage());
+        try (Writer writer = Files.newBufferedWriter(Paths.get(fileName))) {
+            writer.write(GameReport.format(gameMode, isInteractiveMode(), player.getSecretCode(), computer.getSecretCode(),
+                    player.getGuessResults(), computer.getGuessResults()));
+            listener.onResultSaved(fileName);
+        } catch (IOException | InvalidPathException e) {
+            listener.onError(e.getMessage());
         }
     }
 
+    /**
+     * writes a snapshot of the game between turns: settings, attempts, both roles and the computer's guessing state
+     * a HardAI writes its remaining candidates as a bitset, so the restored game does not filter them again.
+     * The computer is reseeded, so the restored game makes the same random choices as this game going on.
+     * A computer's guess being computed in the background is waited for and written with the computer's state,
+     * the move budget of the computer is written with the settings.
+     *
+     * @param out the output of the snapshot
+     * @throws IOException if the snapshot can not be written
+     */
+    public void writeSnapshot(DataOutput out) throws IOException {
+        String pendingGuess = nextComputerGuess != null ? takeComputerGuess() : null;
+        if (pendingGuess != null)
+            nextComputerGuess = CompletableFuture.completedFuture(pendingGuess);
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeByte(SNAPSHOT_VERSION);
+        out.writeByte(gameMode.ordinal());
+        out.writeByte(codeSpace.getLength());
+        out.writeByte(codeSpace.getAlphabetSize());
+        out.writeByte(maxAttempts);
+        out.writeByte(attempts);
+        out.writeBoolean(gameEnd);
+        out.writeLong(sessionId);
+        out.writeLong(seed);
+        out.writeLong(computer.reseed());
+        out.writeByte(computer.getAiLevel().ordinal());
+        out.writeUTF(computer.getWordleFileName());
+        out.writeLong(moveBudgetMillis);
+        writeRole(out, player);
+        writeRole(out, computer);
+        out.writeBoolean(pendingGuess != null);
+        if (pendingGuess != null)
+            out.writeUTF(pendingGuess);
+        computer.writeState(out);
+    }
+
+    /**
+     * restores a game from a snapshot written by writeSnapshot
+     *
+     * @param in       the input of the snapshot
+     * @param listener the listener of game events of the restored game
+     * @return the restored game, ready for the next turn
+     * @throws IOException if the snapshot can not be read or is not a game snapshot
+     */
+    public static Game readSnapshot(DataInput in, GameEventListener listener) throws IOException {
+        if (in.readInt() != SNAPSHOT_MAGIC)
+            throw new IOException("Not a game snapshot!");
+        int version = in.readUnsignedByte();
+        if (version != SNAPSHOT_VERSION)
+            throw new IOException("Unsupported game snapshot version " + version + "!");
+        Game game = new Game(listener);
+        try {
+            game.gameMode = GameMode.values()[in.readUnsignedByte()];
+            game.codeSpace = CodeSpace.of(in.readUnsignedByte(), in.readUnsignedByte());
+            game.maxAttempts = in.readUnsignedByte();
+            game.attempts = in.readUnsignedByte();
+            game.gameEnd = in.readBoolean();
+            game.sessionId = in.readLong();
+            game.seed = in.readLong();
+            long computerSeed = in.readLong();
+            game.initComputer(AILevel.values()[in.readUnsignedByte()]);
+            game.computer.setSeed(computerSeed);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new IOException("Corrupt game snapshot: " + e.getMessage(), e);
+        }
+        game.computer.setWordleFileName(in.readUTF());
+        try {
+            game.setMoveBudget(in.readLong());
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupt game snapshot: " + e.getMessage(), e);
+        }
+        game.computer.setCodeSpace(game.codeSpace);
+        readRole(in, game.player, "You");
+        readRole(in, game.computer, "Computer");
+        if (in.readBoolean())
+            game.nextComputerGuess = CompletableFuture.completedFuture(in.readUTF());
+        game.computer.readState(in);
+        return game;
+    }
+
+    /**
+     * writes the secret code, win flag and guess results of a role
+     */
+    private static void writeRole(DataOutput out, Role role) throws IOException {
+        out.writeBoolean(role.getSecretCode() != null);
+        if (role.getSecretCode() != null)
+            out.writeUTF(role.getSecretCode());
+        out.writeBoolean(role.isWinner());
+        out.writeByte(role.getGuessResults().size());
+        for (Result result : role.getGuessResults()) {
+            out.writeUTF(result.getGuess());
+            out.writeByte(result.getBulls());
+            out.writeByte(result.getCows());
+            out.writeInt(result.getTilePattern());
+        }
+    }
+
+    /**
+     * reads the secret code, win flag and guess results of a role
+     */
+    private static void readRole(DataInput in, Role role, String guesser) throws IOException {
+        role.setSecretCode(in.readBoolean() ? in.readUTF() : null);
+        role.setWinFlag(in.readBoolean());
+        int resultCount = in.readUnsignedByte();
+        for (int i = 0; i < resultCount; i++) {
+            Result result = new Result(guesser, in.readUTF(), in.readUnsignedByte(), in.readUnsignedByte());
+            result.setTilePattern(in.readInt());
+            role.getGuessResults().add(result);
+        }
+    }
+
+    /**
+     * checks Bulls and Cows code format: non-repetitive symbols of the code space
+     *
+     * @param code A player's secret code or guess
+     * @return A result of format check
+     */
+    public boolean isDigitalCodeValid(String code) {
+        return codeSpace.isValid(code);
+    }
+
     /**
      * checks wordle guess format: five letters and contains only letters A - Z or a - z
      *
@@ -307,4 +610,15 @@ public class Game {
         return computer.isWordleWordVaild(word);
     }
 
+    /**
+     * checks player's secret word against WordleAI: it must be a word of the dictionary
+     *
+     * @param word A player's secret word
+     * @return A result of dictionary check
+     */
+    public boolean isWordleSecretValid(String word) {
+        if (!isWordleGuessValid(word)) return false;
+        return !(computer instanceof WordleAI) || ((WordleAI) computer).isWordInDictionary(word);
+    }
+
 }
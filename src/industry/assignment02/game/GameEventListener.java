@@ -0,0 +1,52 @@
+package industry.assignment02.game;
+
+/**
+ * A listener of the events of a game
+ * every method does nothing by default, so a listener only overrides the events it needs
+ * and a game without a listener runs without any output
+ */
+public interface GameEventListener {
+    GameEventListener NONE = new GameEventListener() {
+    };
+
+    /**
+     * a new turn starts
+     *
+     * @param turn the turn number, from 1
+     */
+    default void onTurnStart(int turn) {
+    }
+
+    /**
+     * a guess is scored, the guess is correct when the guesser wins
+     *
+     * @param result the guesser, guess, bulls and cows of the guess
+     */
+    default void onGuessResult(Result result) {
+    }
+
+    /**
+     * nobody guessed the secret code within the max attempts
+     *
+     * @param secretCode  the computer's secret code
+     * @param interactive did the player play against the computer, then the game is a draw
+     */
+    default void onOutOfTries(String secretCode, boolean interactive) {
+    }
+
+    /**
+     * the game result is saved to a file
+     *
+     * @param fileName the name of the file
+     */
+    default void onResultSaved(String fileName) {
+    }
+
+    /**
+     * an error occurs in the game
+     *
+     * @param message the error message
+     */
+    default void onError(String message) {
+    }
+}
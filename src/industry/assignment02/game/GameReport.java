@@ -0,0 +1,95 @@
+package industry.assignment02.game;
+
+import java.util.List;
+
+/**
+ * The text report of a game result, as saved to a txt file
+ * it is shared by the game and the game log reader, so a logged game reads back as the same text
+ */
+public final class GameReport {
+
+    private GameReport() {
+    }
+
+    /**
+     * formats the result of a game
+     * if the game has only one player(not interactive mode), then skips the step of printing computer result
+     * if the result of computer's guess is missing, then no more result needs to be printed
+     *
+     * @param gameMode        the game mode
+     * @param interactive     did the player play against the computer
+     * @param playerCode      the player's secret code
+     * @param computerCode    the computer's secret code
+     * @param playerResults   the results of player's guesses
+     * @param computerResults the results of computer's guesses
+     * @return the text of the game result
+     */
+    public static String format(GameMode gameMode, boolean interactive, String playerCode, String computerCode,
+                                List<Result> playerResults, List<Result> computerResults) {
+        return format(gameMode, interactive, playerCode, computerCode, playerResults, computerResults, true);
+    }
+
+    /**
+     * formats the result of a game which may not have ended
+     * a game which has not ended and has no winner is summarized as unfinished, it did not run out of tries
+     *
+     * @param gameMode        the game mode
+     * @param interactive     did the player play against the computer
+     * @param playerCode      the player's secret code
+     * @param computerCode    the computer's secret code
+     * @param playerResults   the results of player's guesses
+     * @param computerResults the results of computer's guesses
+     * @param ended           has the game ended
+     * @return the text of the game result
+     */
+    public static String format(GameMode gameMode, boolean interactive, String playerCode, String computerCode,
+                                List<Result> playerResults, List<Result> computerResults, boolean ended) {
+        StringBuilder report = new StringBuilder();
+        report.append(GameMode.BULLSANDCOWS == gameMode ? "Bulls & Cows" : "Wordle").append(" game result.\n");
+        if (interactive)
+            report.append("Your code: ").append(playerCode).append('\n');
+        report.append("Computer's code: ").append(computerCode).append('\n');
+
+        boolean hasWinner = false;
+        for (int i = 0; i < playerResults.size(); i++) {
+            report.append("---\n");
+            report.append("Turn ").append(i + 1).append(":\n");
+            hasWinner |= appendResult(report, playerResults.get(i));
+            if (!interactive) continue;
+            if (i >= computerResults.size()) break;
+            hasWinner |= appendResult(report, computerResults.get(i));
+        }
+
+        if (!hasWinner) {
+            report.append(">>>\n");
+            if (ended)
+                report.append(ConsoleGameEventListener.getOutOfTriesMessage(null, interactive));
+            else
+                report.append(getUnfinishedMessage(playerResults.size()));
+        }
+        return report.toString();
+    }
+
+    /**
+     * returns the summary of a game which stopped without a winner before it ended
+     *
+     * @param turns the number of turns played
+     * @return the unfinished game message
+     */
+    public static String getUnfinishedMessage(int turns) {
+        return "The game was not finished! It stopped after " + turns + (turns == 1 ? " turn" : " turns")
+                + " without a winner.";
+    }
+
+    /**
+     * appends a guess result and the winner message if the guess is correct
+     *
+     * @return is the guess correct
+     */
+    private static boolean appendResult(StringBuilder report, Result result) {
+        report.append(result).append('\n');
+        if (!result.isGuessCorrect()) return false;
+        report.append(result.getWinnerMessage()).append('\n');
+        return true;
+    }
+}
@@ -8,6 +8,7 @@ public class Result {
     private String guess;
     private int bulls;
     private int cows;
+    private int tilePattern;
 
     /**
      * Constructor of result
@@ -35,6 +36,14 @@ public class Result {
         this.guess = guess;
     }
 
+    /**
+     * returns the name of guesser
+     *
+     * @return guesser
+     */
+    public String getGuesser() {
+        return guesser;
+    }
 
     /**
      * returns the value of guess
@@ -90,6 +99,34 @@ public class Result {
         this.cows = cows;
     }
 
+    /**
+     * returns the packed Wordle tile pattern of the guess, see WordleScorer
+     *
+     * @return tilePattern packed tile pattern
+     */
+    public int getTilePattern() {
+        return this.tilePattern;
+    }
+
+    /**
+     * sets the packed Wordle tile pattern of the guess
+     *
+     * @param tilePattern packed tile pattern
+     */
+    public void setTilePattern(int tilePattern) {
+        this.tilePattern = tilePattern;
+    }
+
+    /**
+     * returns the Wordle tile of a position of the guess
+     *
+     * @param position position of letter
+     * @return WordleScorer.GREEN, WordleScorer.YELLOW or WordleScorer.GREY
+     */
+    public int getTile(int position) {
+        return WordleScorer.getTile(tilePattern, position);
+    }
+
     /**
      * returns the String of guess result
      *
@@ -109,11 +146,11 @@ public class Result {
     }
 
     /**
-     * check if this guess is correct when bulls Count equals to 4
+     * check if this guess is correct when bulls Count equals to the length of guess
      *
      * @return is the guess matches secret code correctly
      */
     public boolean isGuessCorrect() {
-        return (bulls == 4);
+        return guess != null && bulls == guess.length();
     }
 }
@@ -0,0 +1,161 @@
+package industry.assignment02.game;
+
+/**
+ * scores Wordle guesses into a packed tile pattern without allocating
+ * the pattern holds two bits per position, position 0 in the lowest bits:
+ * GREEN for a letter in the right position, YELLOW for a letter in a different position, GREY otherwise.
+ * A letter is marked YELLOW only as many times as it is left in the target after the GREEN letters,
+ * counted with a 26-slot letter-count table packed into two longs of 4-bit slots.
+ */
+public final class WordleScorer {
+    public static final int GREY = 0;
+    public static final int YELLOW = 1;
+    public static final int GREEN = 2;
+    public static final int MAX_WORD_LENGTH = 15;
+    private static final int GREEN_BITS = 0xAAAAAAAA;
+    private static final int YELLOW_BITS = 0x55555555;
+
+    private WordleScorer() {
+    }
+
+    /**
+     * scores a guess against a target word, ignoring case
+     *
+     * @param target A target word of letters from A - Z or a - z
+     * @param guess  A guess of the same length
+     * @return packed tile pattern
+     */
+    public static int score(CharSequence target, CharSequence guess) {
+        int length = checkLength(target.length(), guess.length());
+        long lowCounts = 0, highCounts = 0;
+        int pattern = 0;
+        for (int i = 0; i < length; i++) {
+            int letter = toLetter(target.charAt(i));
+            if (letter == toLetter(guess.charAt(i)))
+                pattern |= GREEN << (i << 1);
+            else if (letter < 16)
+                lowCounts += 1L << (letter << 2);
+            else
+                highCounts += 1L << ((letter - 16) << 2);
+        }
+        for (int i = 0; i < length; i++) {
+            if (getTile(pattern, i) == GREEN) continue;
+            int letter = toLetter(guess.charAt(i));
+            if (letter < 16) {
+                if (((lowCounts >>> (letter << 2)) & 15) == 0) continue;
+                lowCounts -= 1L << (letter << 2);
+            } else {
+                if (((highCounts >>> ((letter - 16) << 2)) & 15) == 0) continue;
+                highCounts -= 1L << ((letter - 16) << 2);
+            }
+            pattern |= YELLOW << (i << 1);
+        }
+        return pattern;
+    }
+
+    /**
+     * scores a guess against a target word, both given as lowercase letters from a to z
+     *
+     * @param target       lowercase letters of the target word
+     * @param targetOffset the index of the first letter of the target word
+     * @param guess        lowercase letters of the guess
+     * @param guessOffset  the index of the first letter of the guess
+     * @param length       the number of letters of a word
+     * @return packed tile pattern
+     */
+    public static int score(byte[] target, int targetOffset, byte[] guess, int guessOffset, int length) {
+        checkLength(length, length);
+        long lowCounts = 0, highCounts = 0;
+        int pattern = 0;
+        for (int i = 0; i < length; i++) {
+            int letter = target[targetOffset + i] - 'a';
+            if (letter == guess[guessOffset + i] - 'a')
+                pattern |= GREEN << (i << 1);
+            else if (letter < 16)
+                lowCounts += 1L << (letter << 2);
+            else
+                highCounts += 1L << ((letter - 16) << 2);
+        }
+        for (int i = 0; i < length; i++) {
+            if (getTile(pattern, i) == GREEN) continue;
+            int letter = guess[guessOffset + i] - 'a';
+            if (letter < 16) {
+                if (((lowCounts >>> (letter << 2)) & 15) == 0) continue;
+                lowCounts -= 1L << (letter << 2);
+            } else {
+                if (((highCounts >>> ((letter - 16) << 2)) & 15) == 0) continue;
+                highCounts -= 1L << ((letter - 16) << 2);
+            }
+            pattern |= YELLOW << (i << 1);
+        }
+        return pattern;
+    }
+
+    /**
+     * returns the tile of a position
+     *
+     * @param pattern  packed tile pattern
+     * @param position position of letter
+     * @return GREEN, YELLOW or GREY
+     */
+    public static int getTile(int pattern, int position) {
+        return (pattern >>> (position << 1)) & 3;
+    }
+
+    /**
+     * returns the number of GREEN tiles, the bulls of Wordle
+     *
+     * @param pattern packed tile pattern
+     * @return the number of GREEN tiles
+     */
+    public static int countGreen(int pattern) {
+        return Integer.bitCount(pattern & GREEN_BITS);
+    }
+
+    /**
+     * returns the number of YELLOW tiles, the cows of Wordle
+     *
+     * @param pattern packed tile pattern
+     * @return the number of YELLOW tiles
+     */
+    public static int countYellow(int pattern) {
+        return Integer.bitCount(pattern & YELLOW_BITS);
+    }
+
+    /**
+     * returns the String of tiles, G for GREEN, Y for YELLOW and - for GREY
+     *
+     * @param pattern packed tile pattern
+     * @param length  the number of letters of a word
+     * @return A string
+     */
+    public static String toString(int pattern, int length) {
+        StringBuilder tiles = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            int tile = getTile(pattern, i);
+            tiles.append(tile == GREEN ? 'G' : tile == YELLOW ? 'Y' : '-');
+        }
+        return tiles.toString();
+    }
+
+    /**
+     * checks both words have the same length which fits in a pattern
+     *
+     * @return the length of a word
+     */
+    private static int checkLength(int targetLength, int guessLength) {
+        if (targetLength != guessLength || targetLength > MAX_WORD_LENGTH)
+            throw new IllegalArgumentException("Wordle guess must have the same length as the secret word!");
+        return targetLength;
+    }
+
+    /**
+     * returns the letter number of a char from 0 to 25, ignoring case
+     */
+    private static int toLetter(char c) {
+        int letter = (c | 0x20) - 'a';
+        if (letter < 0 || letter >= 26)
+            throw new IllegalArgumentException("Wordle words must only contain letters A - Z or a - z!");
+        return letter;
+    }
+}
@@ -0,0 +1,282 @@
+package industry.assignment02.log;
+
+import industry.assignment02.game.GameMode;
+import industry.assignment02.game.Result;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An append-only binary log of games, shared by all games of a process writing to the same file
+ * a record is an int length followed by the record: type, session id, timestamp and the fields of the type.
+ * A game starts with a START record of its secret codes and random seed, every guess is a TURN record and an ended game has an END record.
+ * Records are appended to a pending buffer, the first writer waiting for its record becomes the leader
+ * and writes the whole pending batch in one write, so concurrent games commit together (group commit).
+ */
+public final class GameLog implements AutoCloseable {
+    static final byte START = 1;
+    static final byte TURN = 2;
+    static final byte END = 3;
+    static final byte PLAYER = 0;
+    static final byte COMPUTER = 1;
+    static final int HEADER_BYTES = 1 + 8 + 8;
+    static final int MAX_RECORD_BYTES = HEADER_BYTES + 1 + 1 + 1 + 1 + 8 + 8 + 8;
+    static final int WORDLE_LETTER_BITS = 5;
+    private static final int INITIAL_BATCH_BYTES = 64 * 1024;
+    private static final ConcurrentMap<Path, GameLog> SHARED = new ConcurrentHashMap<>();
+    private static final AtomicLong NEXT_SESSION_ID = new AtomicLong(System.currentTimeMillis() * 1000);
+
+    private final Path path;
+    private final FileChannel channel;
+    private final boolean forceOnCommit;
+    private final Object lock = new Object();
+    private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BATCH_BYTES);
+    private ByteBuffer spare = ByteBuffer.allocate(INITIAL_BATCH_BYTES);
+    private long appendedRecords;
+    private long committedRecords;
+    private boolean committing;
+    private IOException failure;
+
+    private GameLog(Path path, boolean forceOnCommit) throws IOException {
+        this.path = path;
+        this.forceOnCommit = forceOnCommit;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * returns the shared log of a file, opens it on first use
+     * a commit returns when its batch is written, not when it is on the disk
+     *
+     * @param path the log file
+     * @return the shared game log
+     * @throws IOException if the file can not be opened
+     */
+    public static GameLog open(Path path) throws IOException {
+        return open(path, false);
+    }
+
+    /**
+     * returns the shared log of a file, opens it on first use
+     *
+     * @param path          the log file
+     * @param forceOnCommit does a commit force its batch to the disk
+     * @return the shared game log
+     * @throws IOException if the file can not be opened
+     */
+    public static GameLog open(Path path, boolean forceOnCommit) throws IOException {
+        Path key = path.toAbsolutePath().normalize();
+        synchronized (SHARED) {
+            GameLog log = SHARED.get(key);
+            if (log == null) {
+                log = new GameLog(key, forceOnCommit);
+                SHARED.put(key, log);
+            }
+            return log;
+        }
+    }
+
+    /**
+     * returns a new session id, unique across the games of the process and across restarts
+     *
+     * @return A session id
+     */
+    public static long newSessionId() {
+        return NEXT_SESSION_ID.incrementAndGet();
+    }
+
+    /**
+     * logs the start of a game
+     *
+     * @param sessionId    the session id of the game
+     * @param gameMode     the game mode
+     * @param interactive  does the player play against the computer
+     * @param codeLength   the number of symbols of a Bulls and Cows code
+     * @param alphabetSize the number of symbols to choose from
+     * @param playerCode   the player's secret code, or null if the player has none
+     * @param computerCode the computer's secret code
+     * @param seed         the seed of the computer's random choices
+     * @throws IOException if the record can not be written
+     */
+    public void logStart(long sessionId, GameMode gameMode, boolean interactive, int codeLength, int alphabetSize,
+                         String playerCode, String computerCode, long seed) throws IOException {
+        ByteBuffer record = newRecord(START, sessionId);
+        record.put((byte) gameMode.ordinal()).put((byte) (interactive ? 1 : 0))
+                .put((byte) codeLength).put((byte) alphabetSize)
+                .putLong(packCode(playerCode)).putLong(packCode(computerCode)).putLong(seed);
+        append(record);
+    }
+
+    /**
+     * logs a guess result
+     *
+     * @param sessionId the session id of the game
+     * @param turn      the turn number, from 1
+     * @param player    is the guess player's guess, otherwise computer's
+     * @param result    the guess result
+     * @throws IOException if the record can not be written
+     */
+    public void logTurn(long sessionId, int turn, boolean player, Result result) throws IOException {
+        ByteBuffer record = newRecord(TURN, sessionId);
+        record.put(player ? PLAYER : COMPUTER).put((byte) turn)
+                .put((byte) result.getBulls()).put((byte) result.getCows())
+                .putLong(packCode(result.getGuess()));
+        append(record);
+    }
+
+    /**
+     * logs the end of a game
+     *
+     * @param sessionId the session id of the game
+     * @throws IOException if the record can not be written
+     */
+    public void logEnd(long sessionId) throws IOException {
+        append(newRecord(END, sessionId));
+    }
+
+    /**
+     * returns the log file
+     *
+     * @return path
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * commits the pending records and closes the log file
+     *
+     * @throws IOException if the file can not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (SHARED) {
+            SHARED.remove(path, this);
+        }
+        long sequence;
+        synchronized (lock) {
+            sequence = appendedRecords;
+        }
+        try {
+            awaitCommit(sequence);
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * packs a code of at most 12 symbols: a Bulls and Cows code or a Wordle word
+     * each symbol is 5 bits, digits and letters A - F are 1 - 16, Wordle letters a - z are 1 - 26
+     *
+     * @param code A code
+     * @return the packed code, 0 for no code
+     */
+    static long packCode(String code) {
+        if (code == null) return 0;
+        long packed = 0;
+        for (int i = code.length() - 1; i >= 0; i--) {
+            char c = code.charAt(i);
+            int symbol;
+            if (c >= '0' && c <= '9') symbol = c - '0' + 1;
+            else if (c >= 'A' && c <= 'F') symbol = c - 'A' + 11;
+            else symbol = Character.toLowerCase(c) - 'a' + 1;
+            packed = (packed << WORDLE_LETTER_BITS) | (symbol & 31);
+        }
+        return packed;
+    }
+
+    /**
+     * unpacks a code packed by packCode
+     *
+     * @param packed   A packed code
+     * @param gameMode the game mode of the code
+     * @return A code, or null for no code
+     */
+    static String unpackCode(long packed, GameMode gameMode) {
+        if (packed == 0) return null;
+        StringBuilder code = new StringBuilder();
+        for (; packed != 0; packed >>>= WORDLE_LETTER_BITS) {
+            int symbol = (int) (packed & 31);
+            if (GameMode.WORDLE == gameMode) code.append((char) ('a' + symbol - 1));
+            else code.append(symbol <= 10 ? (char) ('0' + symbol - 1) : (char) ('A' + symbol - 11));
+        }
+        return code.toString();
+    }
+
+    private static ByteBuffer newRecord(byte type, long sessionId) {
+        return ByteBuffer.allocate(MAX_RECORD_BYTES).put(type).putLong(sessionId).putLong(System.currentTimeMillis());
+    }
+
+    /**
+     * appends a length-prefixed record to the pending batch and waits for its commit
+     */
+    private void append(ByteBuffer record) throws IOException {
+        record.flip();
+        long sequence;
+        synchronized (lock) {
+            if (failure != null) throw new IOException("Game log " + path + " failed", failure);
+            if (pending.remaining() < 4 + record.remaining()) {
+                ByteBuffer larger = ByteBuffer.allocate(pending.capacity() * 2);
+                pending.flip();
+                pending = larger.put(pending);
+            }
+            pending.putInt(record.remaining()).put(record);
+            sequence = ++appendedRecords;
+        }
+        awaitCommit(sequence);
+    }
+
+    /**
+     * waits until a record is committed
+     * if no batch is being written, this writer becomes the leader and writes every pending record,
+     * otherwise it waits for the leader, whose batch may already hold the record
+     *
+     * @param sequence the sequence number of the record
+     */
+    private void awaitCommit(long sequence) throws IOException {
+        while (true) {
+            ByteBuffer batch;
+            long batchEnd;
+            synchronized (lock) {
+                while (committing && committedRecords < sequence) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Interrupted waiting for game log commit");
+                    }
+                }
+                if (failure != null) throw new IOException("Game log " + path + " failed", failure);
+                if (committedRecords >= sequence) return;
+                committing = true;
+                batch = pending;
+                pending = spare;
+                batchEnd = appendedRecords;
+            }
+            IOException writeFailure = null;
+            try {
+                batch.flip();
+                while (batch.hasRemaining())
+                    channel.write(batch);
+                if (forceOnCommit)
+                    channel.force(false);
+            } catch (IOException e) {
+                writeFailure = e;
+            }
+            synchronized (lock) {
+                batch.clear();
+                spare = batch;
+                committing = false;
+                if (writeFailure != null) failure = writeFailure;
+                else committedRecords = batchEnd;
+                lock.notifyAll();
+            }
+        }
+    }
+}
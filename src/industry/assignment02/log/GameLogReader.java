@@ -0,0 +1,121 @@
+package industry.assignment02.log;
+
+import industry.assignment02.game.GameMode;
+import industry.assignment02.game.Result;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Reads the games of a game log back in a single pass
+ * only the games in progress are held in memory, a game is handed over as soon as its end record is read,
+ * so a log of millions of games streams in constant memory
+ */
+public final class GameLogReader {
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private GameLogReader() {
+    }
+
+    /**
+     * Prints the games of a game log as text reports
+     *
+     * @param args The array of string parsed from command-line: logFile [sessionId]
+     */
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.out.println("Usage: GameLogReader logFile [sessionId]");
+            return;
+        }
+        try {
+            Long sessionId = args.length > 1 ? Long.parseLong(args[1]) : null;
+            forEachGame(Paths.get(args[0]), game -> {
+                if (sessionId != null && sessionId != game.getSessionId()) return;
+                System.out.println("=== Session " + game.getSessionId() + (game.isEnded() ? "" : " (not ended)"));
+                System.out.println(game.toText());
+            });
+        } catch (IOException | NumberFormatException e) {
+            System.out.println("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * reads every game of a game log, games are handed over in the order they end
+     * games without an end record are handed over at the end of the log, a torn last record is ignored
+     *
+     * @param path   the log file
+     * @param action the action on each game
+     * @throws IOException if the file can not be read
+     */
+    public static void forEachGame(Path path, Consumer<LoggedGame> action) throws IOException {
+        Map<Long, LoggedGame> inProgress = new LinkedHashMap<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+            buffer.flip();
+            while (true) {
+                int length = buffer.remaining() >= 4 ? buffer.getInt(buffer.position()) : 0;
+                if (buffer.remaining() >= 4 && (length < GameLog.HEADER_BYTES || length > GameLog.MAX_RECORD_BYTES))
+                    throw new IOException("Corrupt game log record of " + length + " bytes in " + path);
+                if (buffer.remaining() < 4 + length) {
+                    buffer.compact();
+                    int read = channel.read(buffer);
+                    buffer.flip();
+                    if (read < 0) break;
+                    continue;
+                }
+                buffer.getInt();
+                int end = buffer.position() + length;
+                readRecord(buffer, end, inProgress, action);
+                buffer.position(end);
+            }
+        }
+        for (Iterator<LoggedGame> games = inProgress.values().iterator(); games.hasNext(); ) {
+            action.accept(games.next());
+            games.remove();
+        }
+    }
+
+    /**
+     * reads a record into the game of its session
+     */
+    private static void readRecord(ByteBuffer buffer, int end, Map<Long, LoggedGame> inProgress, Consumer<LoggedGame> action) {
+        byte type = buffer.get();
+        long sessionId = buffer.getLong();
+        long timestamp = buffer.getLong();
+        if (type == GameLog.START) {
+            GameMode gameMode = GameMode.values()[buffer.get()];
+            boolean interactive = buffer.get() != 0;
+            int codeLength = buffer.get();
+            int alphabetSize = buffer.get();
+            String playerCode = GameLog.unpackCode(buffer.getLong(), gameMode);
+            String computerCode = GameLog.unpackCode(buffer.getLong(), gameMode);
+            long seed = end - buffer.position() >= 8 ? buffer.getLong() : 0;
+            inProgress.put(sessionId, new LoggedGame(sessionId, timestamp, gameMode, interactive, codeLength, alphabetSize,
+                    playerCode, computerCode, seed));
+            return;
+        }
+        LoggedGame game = inProgress.get(sessionId);
+        if (game == null) return;
+        if (type == GameLog.TURN) {
+            boolean player = buffer.get() == GameLog.PLAYER;
+            buffer.get();
+            int bulls = buffer.get();
+            int cows = buffer.get();
+            String guess = GameLog.unpackCode(buffer.getLong(), game.getGameMode());
+            Result result = new Result(player ? "You" : "Computer", guess, bulls, cows);
+            (player ? game.getPlayerResults() : game.getComputerResults()).add(result);
+        } else if (type == GameLog.END) {
+            inProgress.remove(sessionId);
+            game.setEnded();
+            action.accept(game);
+        }
+    }
+}
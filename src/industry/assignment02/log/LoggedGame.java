@@ -0,0 +1,117 @@
+package industry.assignment02.log;
+
+import industry.assignment02.game.GameMode;
+import industry.assignment02.game.GameReport;
+import industry.assignment02.game.Result;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A game read back from a game log
+ */
+public final class LoggedGame {
+    private final long sessionId;
+    private final long startTime;
+    private final GameMode gameMode;
+    private final boolean interactive;
+    private final int codeLength;
+    private final int alphabetSize;
+    private final String playerCode;
+    private final String computerCode;
+    private final long seed;
+    private final List<Result> playerResults = new ArrayList<>();
+    private final List<Result> computerResults = new ArrayList<>();
+    private boolean ended;
+
+    LoggedGame(long sessionId, long startTime, GameMode gameMode, boolean interactive, int codeLength, int alphabetSize,
+               String playerCode, String computerCode, long seed) {
+        this.sessionId = sessionId;
+        this.startTime = startTime;
+        this.gameMode = gameMode;
+        this.interactive = interactive;
+        this.codeLength = codeLength;
+        this.alphabetSize = alphabetSize;
+        this.playerCode = playerCode;
+        this.computerCode = computerCode;
+        this.seed = seed;
+    }
+
+    public long getSessionId() {
+        return sessionId;
+    }
+
+    /**
+     * returns the time the game started
+     *
+     * @return milliseconds since the epoch
+     */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public GameMode getGameMode() {
+        return gameMode;
+    }
+
+    public boolean isInteractive() {
+        return interactive;
+    }
+
+    public int getCodeLength() {
+        return codeLength;
+    }
+
+    public int getAlphabetSize() {
+        return alphabetSize;
+    }
+
+    public String getPlayerCode() {
+        return playerCode;
+    }
+
+    public String getComputerCode() {
+        return computerCode;
+    }
+
+    /**
+     * returns the seed of the computer's random choices, a game replays with Game.setSeed
+     *
+     * @return seed, 0 for a game logged without a seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    public List<Result> getPlayerResults() {
+        return playerResults;
+    }
+
+    public List<Result> getComputerResults() {
+        return computerResults;
+    }
+
+    /**
+     * checks if the end of the game is logged, a game without end was cut off by a restart
+     *
+     * @return has the game ended
+     */
+    public boolean isEnded() {
+        return ended;
+    }
+
+    void setEnded() {
+        ended = true;
+    }
+
+    /**
+     * reconstructs the text report of the game, as saved to a txt file
+     * a game which has not ended is reported as unfinished instead of out of tries
+     *
+     * @return the text of the game result
+     */
+    public String toText() {
+        return GameReport.format(gameMode, interactive, playerCode, computerCode, playerResults, computerResults,
+                ended);
+    }
+}
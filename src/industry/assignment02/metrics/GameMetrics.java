@@ -0,0 +1,269 @@
+package industry.assignment02.metrics;
+
+import industry.assignment02.role.AILevel;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics of the games of the process: latency histograms of the hot paths,
+ * counters of games per AI level and histograms of candidate set sizes per turn.
+ * Metrics are disabled by default, enabled by the system property bullsandcows.metrics=true or setEnabled;
+ * a disabled timer is a single volatile read, so the hot paths do not pay for metrics nobody reads.
+ * <p>
+ * A timer is started with startTimer and recorded with the start time, a start time of 0 records nothing:
+ * <pre>
+ * long start = GameMetrics.startTimer();
+ * ...
+ * GameMetrics.getInstance().recordTurn(start);
+ * </pre>
+ */
+public final class GameMetrics implements GameMetricsMXBean {
+    public static final String OBJECT_NAME = "industry.assignment02:type=GameMetrics";
+    public static final int MAX_TRACKED_TURNS = 16;
+    private static final GameMetrics INSTANCE = new GameMetrics();
+    private static volatile boolean enabled = Boolean.getBoolean("bullsandcows.metrics");
+
+    private final Histogram turnNanos = new Histogram();
+    private final Histogram scoreNanos = new Histogram();
+    private final Histogram genWordleCodeNanos = new Histogram();
+    private final Map<AILevel, Histogram> guessNanos = new EnumMap<>(AILevel.class);
+    private final Map<AILevel, LongAdder[]> gameCounters = new EnumMap<>(AILevel.class);
+    private final Map<AILevel, Histogram[]> candidateSetSizes = new EnumMap<>(AILevel.class);
+
+    private enum GameCounter {
+        GAMES_STARTED("gamesStarted"),
+        GAMES_FINISHED("gamesFinished"),
+        PLAYER_WINS("playerWins"),
+        COMPUTER_WINS("computerWins");
+
+        private final String label;
+
+        GameCounter(String label) {
+            this.label = label;
+        }
+    }
+
+    private GameMetrics() {
+        for (AILevel level : AILevel.values()) {
+            guessNanos.put(level, new Histogram());
+            LongAdder[] counters = new LongAdder[GameCounter.values().length];
+            for (int i = 0; i < counters.length; i++)
+                counters[i] = new LongAdder();
+            gameCounters.put(level, counters);
+            Histogram[] sizes = new Histogram[MAX_TRACKED_TURNS + 1];
+            for (int turn = 1; turn < sizes.length; turn++)
+                sizes[turn] = new Histogram();
+            candidateSetSizes.put(level, sizes);
+        }
+    }
+
+    /**
+     * returns the metrics of the process
+     *
+     * @return the shared metrics
+     */
+    public static GameMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * registers the metrics with the platform MBean server, once
+     *
+     * @return is the MBean registered
+     */
+    public static synchronized boolean registerMBean() {
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!ManagementFactory.getPlatformMBeanServer().isRegistered(name))
+                ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, name);
+            return true;
+        } catch (JMException e) {
+            return false;
+        }
+    }
+
+    /**
+     * starts a timer
+     *
+     * @return the start time in nanoseconds, or 0 if the metrics are disabled
+     */
+    public static long startTimer() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        GameMetrics.enabled = enabled;
+    }
+
+    /**
+     * records the latency of a turn of Game.guessSecretCodes
+     *
+     * @param start the start time from startTimer
+     */
+    public void recordTurn(long start) {
+        if (start != 0) turnNanos.record(System.nanoTime() - start);
+    }
+
+    /**
+     * records the latency of scoring a guess
+     *
+     * @param start the start time from startTimer
+     */
+    public void recordScore(long start) {
+        if (start != 0) scoreNanos.record(System.nanoTime() - start);
+    }
+
+    /**
+     * records the latency of Computer.genWordleCode
+     *
+     * @param start the start time from startTimer
+     */
+    public void recordGenWordleCode(long start) {
+        if (start != 0) genWordleCodeNanos.record(System.nanoTime() - start);
+    }
+
+    /**
+     * records the latency of Computer.guessPlayerCode of an AI level
+     *
+     * @param level the AI level of the computer
+     * @param start the start time from startTimer
+     */
+    public void recordComputerGuess(AILevel level, long start) {
+        if (start != 0) guessNanos.get(level).record(System.nanoTime() - start);
+    }
+
+    /**
+     * counts a game started against an AI level
+     *
+     * @param level the AI level of the computer
+     */
+    public void gameStarted(AILevel level) {
+        if (enabled) gameCounters.get(level)[GameCounter.GAMES_STARTED.ordinal()].increment();
+    }
+
+    /**
+     * counts a game finished against an AI level and its winner
+     *
+     * @param level       the AI level of the computer
+     * @param playerWon   did the player win
+     * @param computerWon did the computer win
+     */
+    public void gameFinished(AILevel level, boolean playerWon, boolean computerWon) {
+        if (!enabled) return;
+        LongAdder[] counters = gameCounters.get(level);
+        counters[GameCounter.GAMES_FINISHED.ordinal()].increment();
+        if (playerWon) counters[GameCounter.PLAYER_WINS.ordinal()].increment();
+        if (computerWon) counters[GameCounter.COMPUTER_WINS.ordinal()].increment();
+    }
+
+    /**
+     * records the number of candidates a computer has left at a turn
+     *
+     * @param level the AI level of the computer
+     * @param turn  the turn number, from 1, later turns than MAX_TRACKED_TURNS are recorded as the last one
+     * @param size  the number of candidates
+     */
+    public void recordCandidateSetSize(AILevel level, int turn, int size) {
+        if (enabled && turn >= 1)
+            candidateSetSizes.get(level)[Math.min(turn, MAX_TRACKED_TURNS)].record(size);
+    }
+
+    /**
+     * returns the latency histogram of turns
+     *
+     * @return turn latencies in nanoseconds
+     */
+    public Histogram getTurnHistogram() {
+        return turnNanos;
+    }
+
+    /**
+     * returns the latency histogram of guesses of an AI level
+     *
+     * @param level the AI level
+     * @return guess latencies in nanoseconds
+     */
+    public Histogram getComputerGuessHistogram(AILevel level) {
+        return guessNanos.get(level);
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        Map<String, Long> counters = new LinkedHashMap<>();
+        for (Map.Entry<AILevel, LongAdder[]> entry : gameCounters.entrySet())
+            for (GameCounter counter : GameCounter.values()) {
+                long value = entry.getValue()[counter.ordinal()].sum();
+                if (value != 0) counters.put(entry.getKey() + "." + counter.label, value);
+            }
+        return counters;
+    }
+
+    @Override
+    public Map<String, Double> getHistograms() {
+        Map<String, Double> statistics = new LinkedHashMap<>();
+        for (Map.Entry<String, Histogram> entry : getNamedHistograms().entrySet()) {
+            Histogram histogram = entry.getValue();
+            statistics.put(entry.getKey() + ".count", (double) histogram.getCount());
+            statistics.put(entry.getKey() + ".mean", histogram.getMean());
+            statistics.put(entry.getKey() + ".p50", (double) histogram.getPercentile(50));
+            statistics.put(entry.getKey() + ".p99", (double) histogram.getPercentile(99));
+            statistics.put(entry.getKey() + ".max", (double) histogram.getMax());
+        }
+        return statistics;
+    }
+
+    @Override
+    public String dump() {
+        StringBuilder text = new StringBuilder("Game metrics").append(enabled ? "" : " (disabled)").append('\n');
+        for (Map.Entry<String, Long> entry : getCounters().entrySet())
+            text.append(entry.getKey()).append(' ').append(entry.getValue()).append('\n');
+        for (Map.Entry<String, Histogram> entry : getNamedHistograms().entrySet())
+            text.append(entry.getKey()).append(' ').append(entry.getValue()).append('\n');
+        return text.toString();
+    }
+
+    @Override
+    public void reset() {
+        turnNanos.reset();
+        scoreNanos.reset();
+        genWordleCodeNanos.reset();
+        for (AILevel level : AILevel.values()) {
+            guessNanos.get(level).reset();
+            for (LongAdder counter : gameCounters.get(level))
+                counter.reset();
+            for (int turn = 1; turn <= MAX_TRACKED_TURNS; turn++)
+                candidateSetSizes.get(level)[turn].reset();
+        }
+    }
+
+    /**
+     * returns the histograms holding any value by name, latencies are in nanoseconds
+     *
+     * @return histograms
+     */
+    private Map<String, Histogram> getNamedHistograms() {
+        Map<String, Histogram> histograms = new LinkedHashMap<>();
+        histograms.put("turn.nanos", turnNanos);
+        histograms.put("score.nanos", scoreNanos);
+        histograms.put("genWordleCode.nanos", genWordleCodeNanos);
+        for (AILevel level : AILevel.values())
+            histograms.put(level + ".guess.nanos", guessNanos.get(level));
+        for (AILevel level : AILevel.values())
+            for (int turn = 1; turn <= MAX_TRACKED_TURNS; turn++)
+                histograms.put(level + ".candidates.turn" + turn, candidateSetSizes.get(level)[turn]);
+        histograms.values().removeIf(histogram -> histogram.getCount() == 0);
+        return histograms;
+    }
+}
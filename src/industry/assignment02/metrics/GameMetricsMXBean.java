@@ -0,0 +1,49 @@
+package industry.assignment02.metrics;
+
+import java.util.Map;
+
+/**
+ * The JMX view of the game metrics, registered as industry.assignment02:type=GameMetrics
+ */
+public interface GameMetricsMXBean {
+
+    /**
+     * checks if the metrics are recorded
+     *
+     * @return are the metrics enabled
+     */
+    boolean isEnabled();
+
+    /**
+     * enables or disables recording the metrics
+     *
+     * @param enabled are the metrics enabled
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * returns every counter by name, such as "HARDAI.gamesStarted"
+     *
+     * @return counters
+     */
+    Map<String, Long> getCounters();
+
+    /**
+     * returns the count, mean, p50, p99 and max of every histogram by name, such as "turn.p99"
+     *
+     * @return histogram statistics, latencies in nanoseconds
+     */
+    Map<String, Double> getHistograms();
+
+    /**
+     * returns the text dump of every metric
+     *
+     * @return A string
+     */
+    String dump();
+
+    /**
+     * clears every metric
+     */
+    void reset();
+}
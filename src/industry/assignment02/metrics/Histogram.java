@@ -0,0 +1,128 @@
+package industry.assignment02.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of non-negative values, such as latencies in nanoseconds or candidate set sizes
+ * values are counted in log-linear buckets: values below 16 exactly, larger values in 16 buckets per power of two,
+ * so a recorded value is within 1/16 of its bucket, over the whole long range, in a fixed array of counters.
+ */
+public final class Histogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * records a value, negative values are recorded as 0
+     *
+     * @param value A value
+     */
+    public void record(long value) {
+        if (value < 0) value = 0;
+        counts.incrementAndGet(getBucket(value));
+        count.increment();
+        sum.add(value);
+        if (value > max.get())
+            max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * returns the number of recorded values
+     *
+     * @return count
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * returns the mean of the recorded values
+     *
+     * @return mean, 0 if nothing is recorded
+     */
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * returns the largest recorded value
+     *
+     * @return max
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * returns the value below which a percentage of the recorded values are, to the precision of its bucket
+     *
+     * @param percentile A percentage from 0 to 100
+     * @return the upper bound of the bucket of the percentile, 0 if nothing is recorded
+     */
+    public long getPercentile(double percentile) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++)
+            total += snapshot[i] = counts.get(i);
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank)
+                return Math.min(getBucketUpperBound(i), max.get());
+        }
+        return max.get();
+    }
+
+    /**
+     * clears the recorded values
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++)
+            counts.set(i, 0);
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+    /**
+     * returns the String of the count, mean, percentiles and max
+     *
+     * @return A string
+     */
+    public String toString() {
+        return String.format("count=%d mean=%.1f p50=%d p90=%d p99=%d p99.9=%d max=%d", getCount(), getMean(),
+                getPercentile(50), getPercentile(90), getPercentile(99), getPercentile(99.9), getMax());
+    }
+
+    /**
+     * returns the bucket of a value
+     */
+    private static int getBucket(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * returns the largest value of a bucket
+     */
+    private static long getBucketUpperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = bucket % SUB_BUCKETS;
+        long lowerBound = (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return lowerBound + width - 1 < 0 ? Long.MAX_VALUE : lowerBound + width - 1;
+    }
+}
@@ -8,5 +8,25 @@ public enum AILevel {
     EASYAI,
     MEDIUMAI,
     HARDAI,
-    WORDLE
+    WORDLE,
+    WORDLEAI;
+
+    /**
+     * creates the computer of this level
+     * MediumAI, HardAI and WordleAI create the corresponding computer object, otherwise EasyAI
+     *
+     * @return A new computer
+     */
+    public Computer newComputer() {
+        switch (this) {
+            case MEDIUMAI:
+                return new MediumAI(this);
+            case HARDAI:
+                return new HardAI(this);
+            case WORDLEAI:
+                return new WordleAI(this);
+            default:
+                return new EasyAI(this);
+        }
+    }
 }
@@ -1,16 +1,23 @@
 package industry.assignment02.role;
 
+import industry.assignment02.dictionary.WordleDictionary;
 import industry.assignment02.game.WordleFileNotFoundException;
+import industry.assignment02.solver.CodeSpace;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Scanner;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
 
 public abstract class Computer extends Role {
     public final String WORDLE_FILENAME = "dictionary.txt";
     private AILevel aiLevel;
+    private String wordleFileName = WORDLE_FILENAME;
+    private CodeSpace codeSpace = CodeSpace.DEFAULT;
+    private long seed = ThreadLocalRandom.current().nextLong();
+    private SplittableRandom random = new SplittableRandom(seed);
+    private long moveBudgetMillis;
 
     /**
      * Returns the value of AILevel.
@@ -30,69 +37,168 @@ public abstract class Computer extends Role {
         this.aiLevel = aiLevel;
     }
 
+    /**
+     * Returns the name of the Wordle dictionary file.
+     *
+     * @return the name of the Wordle dictionary file
+     */
+    public String getWordleFileName() {
+        return wordleFileName;
+    }
+
+    /**
+     * sets the name of the Wordle dictionary file, dictionary.txt by default
+     *
+     * @param wordleFileName the name of the Wordle dictionary file
+     */
+    public void setWordleFileName(String wordleFileName) {
+        this.wordleFileName = wordleFileName;
+    }
+
+    /**
+     * Returns the code space of Bulls and Cows secret codes.
+     *
+     * @return the code space, non-repetitive 4 digits from 0 – 9 by default
+     */
+    public CodeSpace getCodeSpace() {
+        return codeSpace;
+    }
+
+    /**
+     * sets the code space of Bulls and Cows secret codes, before the computer generates or guesses a code
+     *
+     * @param codeSpace the code space of secret codes
+     */
+    public void setCodeSpace(CodeSpace codeSpace) {
+        this.codeSpace = codeSpace;
+    }
+
+    /**
+     * Returns the seed of the computer's random generator.
+     *
+     * @return the seed, recorded so a game can be replayed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * sets the seed of the computer's random generator, the same seed makes the same random choices
+     * every computer has a generator of its own, so computers of parallel games do not contend for one
+     *
+     * @param seed the seed
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Returns the time budget of a guess.
+     *
+     * @return the budget in milliseconds, 0 if a guess has no budget
+     */
+    public long getMoveBudget() {
+        return moveBudgetMillis;
+    }
+
+    /**
+     * sets the time budget of a guess, a computer searching for its guess returns the best guess found so far
+     * when the budget runs out, so a turn takes bounded time whatever the AI level or code length
+     *
+     * @param moveBudgetMillis the budget in milliseconds, 0 for no budget
+     */
+    public void setMoveBudget(long moveBudgetMillis) {
+        if (moveBudgetMillis < 0)
+            throw new IllegalArgumentException("The move budget can not be negative!");
+        this.moveBudgetMillis = moveBudgetMillis;
+    }
+
+    /**
+     * returns the deadline of a guess starting now
+     *
+     * @return the System.nanoTime by which the guess is made, meaningless if the guess has no budget
+     */
+    protected long getMoveDeadline() {
+        return System.nanoTime() + moveBudgetMillis * 1_000_000L;
+    }
+
+    /**
+     * returns a new random generator split from the computer's, for a search within a time budget
+     * the split draws the same from the computer's generator however many numbers the search draws,
+     * so the random choices of the game after a timed guess stay the same for the same seed
+     *
+     * @return A random generator seeded by the computer's
+     */
+    protected SplittableRandom splitRandom() {
+        return random.split();
+    }
+
+    /**
+     * reseeds the random generator with a seed drawn from it
+     * a game restored from a snapshot of the new seed makes the same random choices as the game going on
+     *
+     * @return the new seed
+     */
+    public long reseed() {
+        setSeed(random.nextLong());
+        return seed;
+    }
+
     /**
      * generates random computer secret code automatically.
-     * The code is non-repetitive 4 digits from 0 – 9
+     * The code is non-repetitive symbols of the code space, 4 digits from 0 – 9 by default
      */
     public void genComputerCode() {
-        super.setSecretCode(genRandomCode(4, false));
+        super.setSecretCode(genRandomCode(codeSpace.getLength(), false));
     }
 
     /**
-     * generates a 4 digits randomly
+     * generates a code of symbols of the code space randomly
+     * a code without repeated digits is drawn by a partial Fisher–Yates shuffle of the symbols, in O(length)
      *
      * @param length             length of secret Code
      * @param allowRepeatedDigit code can include repeat digit or not
      */
     public String genRandomCode(int length, boolean allowRepeatedDigit) {
-        StringBuilder code = new StringBuilder();
+        int alphabetSize = codeSpace.getAlphabetSize();
+        char[] code = new char[length];
+        if (allowRepeatedDigit) {
+            for (int i = 0; i < length; i++)
+                code[i] = CodeSpace.SYMBOLS.charAt(random.nextInt(alphabetSize));
+            return new String(code);
+        }
+        if (length > alphabetSize)
+            throw new IllegalArgumentException("A code of " + length + " symbols must repeat a symbol!");
+        char[] symbols = CodeSpace.SYMBOLS.substring(0, alphabetSize).toCharArray();
         for (int i = 0; i < length; i++) {
-            String digit = String.valueOf(getRandomDigit(0, 9));
-            while (!allowRepeatedDigit && code.indexOf(digit) >= 0) {
-                String newDigit = String.valueOf(getRandomDigit(0, 9));
-                if (code.indexOf(newDigit) < 0) {
-                    digit = newDigit;
-                    break;
-                }
-            }
-            code.append(digit);
+            int j = i + random.nextInt(alphabetSize - i);
+            char symbol = symbols[j];
+            symbols[j] = symbols[i];
+            code[i] = symbol;
         }
-        return code.toString();
+        return new String(code);
     }
 
     /**
-     * returns a random digit from 0 to 9
+     * returns a random number from min to max
      *
-     * @return A random digit
+     * @param min the smallest number
+     * @param max the largest number
+     * @return A random number
      */
     public int getRandomDigit(int min, int max) {
-        return (int) (Math.random() * (max - min + 1));
+        return min + random.nextInt(max - min + 1);
     }
 
     /**
      * generates Wordle five-letter word from dictionary.txt
      * format: five letters and contains only letters A - Z or a - z
+     * the dictionary is loaded once and shared, so picking a word takes constant time
      */
     public void genWordleCode() throws WordleFileNotFoundException {
-        List<String> words = new ArrayList<>();
-        try (Scanner scanner = new Scanner(new File(WORDLE_FILENAME))) {
-
-            scanner.useDelimiter(",|\\r\\n");
-
-            while (scanner.hasNext()) {
-                String word = scanner.next();
-                if (isWordleWordVaild(word)) {
-                    words.add(word);
-                }
-            }
-        } catch (FileNotFoundException e) {
-            throw new WordleFileNotFoundException("Something went wrong! Wordle cannot be initialized! " +
-                    "The system cannot find Wordle File: " + WORDLE_FILENAME);
-        } catch (Exception e) {
-            System.out.println("Error: " + e.getMessage());
-        }
-
-        setSecretCode(words.size() > 0 ? words.get(getRandomDigit(0, words.size() - 1)) : null);
+        WordleDictionary dictionary = WordleDictionary.load(wordleFileName);
+        setSecretCode(dictionary.size() > 0 ? dictionary.getWord(getRandomDigit(0, dictionary.size() - 1)) : null);
     }
 
     /**
@@ -102,7 +208,26 @@ public abstract class Computer extends Role {
      * @return A result of format check
      */
     public boolean isWordleWordVaild(String word) {
-        return word.matches("[a-zA-z]{5}$");
+        return WordleDictionary.isWordleWordValid(word);
+    }
+
+    /**
+     * writes the state of the computer's guessing for a game snapshot, a computer without state writes nothing
+     * the secret code, guess results and settings are written by the game
+     *
+     * @param out the output of the snapshot
+     * @throws IOException if the state can not be written
+     */
+    public void writeState(DataOutput out) throws IOException {
+    }
+
+    /**
+     * reads the state written by writeState, after the settings and guess results are restored
+     *
+     * @param in the input of the snapshot
+     * @throws IOException if the state can not be read
+     */
+    public void readState(DataInput in) throws IOException {
     }
 
     /**
@@ -12,12 +12,12 @@ public class EasyAI extends Computer {
 
     /**
      * EasyAI guesses player's secret
-     * generates a random guess of non-repetitive 4 digits
+     * generates a random guess of non-repetitive symbols of the code space
      *
      * @return computer's random guess
      */
     @Override
     public String guessPlayerCode() {
-        return genRandomCode(4, false);
+        return genRandomCode(getCodeSpace().getLength(), false);
     }
 }
@@ -1,86 +1,246 @@
 package industry.assignment02.role;
 
 import industry.assignment02.game.Result;
+import industry.assignment02.metrics.GameMetrics;
+import industry.assignment02.solver.CandidateSet;
+import industry.assignment02.solver.CodeSpace;
+import industry.assignment02.solver.FeedbackTable;
+import industry.assignment02.solver.GuessHistory;
+import industry.assignment02.solver.GuessStrategy;
+import industry.assignment02.solver.OpeningBook;
+import industry.assignment02.solver.PartitionGuessStrategy;
+import industry.assignment02.solver.PartitionScore;
+import industry.assignment02.solver.SampledPartitionGuessStrategy;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.LongPredicate;
 
 public class HardAI extends Computer {
-    private static List<String> possibleGuesses = new ArrayList<>();
+    private static final int DRAWS_PER_SAMPLE = 16;
+    private static final int MAX_SCANNED_CODES = 1 << 24;
+    private final GuessStrategy guessStrategy;
+    private final SampledPartitionGuessStrategy sampledStrategy;
+    private boolean guessesGenerated;
+    private FeedbackTable feedbackTable;
+    private OpeningBook openingBook;
+    private CandidateSet possibleGuesses;
 
     /**
      * constructor of HardAI
-     * generates all possible guesses when initializes HardAI
+     * guesses are selected by Knuth's minimax
      *
      * @param aiLevel computer AI Level
      */
     public HardAI(AILevel aiLevel) {
+        this(aiLevel, new PartitionGuessStrategy(PartitionScore.MINIMAX));
+    }
+
+    /**
+     * constructor of HardAI
+     * a deterministic strategy plays from its opening book,
+     * a code space too large for a feedback table is guessed by the sampled strategy,
+     * or sampled minimax if the guess strategy does not sample
+     *
+     * @param aiLevel       computer AI Level
+     * @param guessStrategy strategy to select the next guess from the possible guesses
+     */
+    public HardAI(AILevel aiLevel, GuessStrategy guessStrategy) {
         setAiLevel(aiLevel);
+        this.guessStrategy = guessStrategy;
+        this.sampledStrategy = guessStrategy instanceof SampledPartitionGuessStrategy
+                ? (SampledPartitionGuessStrategy) guessStrategy
+                : new SampledPartitionGuessStrategy(PartitionScore.MINIMAX);
+    }
+
+    /**
+     * sets the code space of secret codes, all possible guesses are generated again for the new code space
+     * the feedback table and opening book of the code space are built or loaded here, before the game,
+     * so the first guess is not slowed down by them, which a move budget could not bound
+     *
+     * @param codeSpace the code space of secret codes
+     */
+    @Override
+    public void setCodeSpace(CodeSpace codeSpace) {
+        super.setCodeSpace(codeSpace);
+        genAllPossibleGuesses();
+    }
+
+    /**
+     * writes the remaining candidates as a bitset, so a restored HardAI does not filter them again
+     * a large code space keeps no candidates and writes none
+     *
+     * @param out the output of the snapshot
+     * @throws IOException if the state can not be written
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeBoolean(possibleGuesses != null);
+        if (possibleGuesses != null)
+            possibleGuesses.writeTo(out);
+    }
+
+    /**
+     * reads the remaining candidates, the feedback table and opening book of the code space are shared
+     *
+     * @param in the input of the snapshot
+     * @throws IOException if the state can not be read or does not fit the code space
+     */
+    @Override
+    public void readState(DataInput in) throws IOException {
+        if (!in.readBoolean()) return;
+        CandidateSet candidates = CandidateSet.readFrom(in);
         genAllPossibleGuesses();
+        if (feedbackTable == null || candidates.capacity() != feedbackTable.size())
+            throw new IOException("HardAI candidates do not fit code space " + getCodeSpace() + "!");
+        possibleGuesses = candidates;
     }
 
     /**
      * HardAI guesses player's secret with HardAI guess strategy
-     * First : generates a random non-repetitive 4 digits
-     * According to the latest guess result, fine next possible guess from the possible candidates
-     * randomly picks a possible guess that match up same bulls and same cows with the latest guess
-     * and removes other unmatched candidates
+     * According to the latest guess result, removes the candidates which do not match up
+     * same bulls and same cows with the latest guess
+     * then looks up the next guess in the opening book, or the guess strategy selects the next guess
+     * against the remaining candidates when the guess history is not in the book.
+     * With a move budget, the guess strategy returns the best guess found when the budget runs out.
+     * A code space too large for a feedback table is guessed from a sample, see guessLargeCodeSpace.
      *
-     * @return computer's random guess
+     * @return computer's guess
      */
     @Override
     public String guessPlayerCode() {
-        if (getGuessResults().size() == 0)
-            return genRandomCode(4, false);
-        Result latestResult = getGuessResults().get(getGuessResults().size() - 1);
-        for (int i = 0; i < possibleGuesses.size(); i++) {
-            if (!isGuessMatchUp(possibleGuesses.get(i), latestResult.getGuess(),
-                    latestResult.getBulls(), latestResult.getCows())) {
-                possibleGuesses.remove(i);
-                i--;
-            }
-        }
-        return (possibleGuesses.size() > 0) ? possibleGuesses.get(getRandomDigit(0, possibleGuesses.size() - 1)) : null;
+        long deadline = getMoveDeadline();
+        if (!guessesGenerated)
+            genAllPossibleGuesses();
+        if (feedbackTable == null)
+            return guessLargeCodeSpace(deadline);
+        if (getGuessResults().size() > 0)
+            removeUnmatchedGuesses(getGuessResults().get(getGuessResults().size() - 1));
+        GameMetrics.getInstance().recordCandidateSetSize(getAiLevel(), getGuessResults().size() + 1, possibleGuesses.size());
+        if (possibleGuesses.size() == 0) return null;
+        int guess = lookUpOpeningBook();
+        if (guess < 0 && getMoveBudget() > 0)
+            guess = guessStrategy.selectGuess(feedbackTable, possibleGuesses, deadline, splitRandom());
+        else if (guess < 0)
+            guess = guessStrategy.selectGuess(feedbackTable, possibleGuesses);
+        return feedbackTable.getCode(guess);
     }
 
     /**
-     * generates all possible combitnations of 4- digits from 0 to 9
-     * The digits must be all different.
+     * generates all possible codes of the code space as candidates
+     * a small code space uses its shared feedback table and opening book,
+     * a large code space keeps no candidates and is streamed on every guess instead
      */
     private void genAllPossibleGuesses() {
-        for (int d1 = 0; d1 <= 9; d1++) {
-            for (int d2 = 0; d2 <= 9; d2++) {
-                if (d1 == d2) continue;
-                for (int d3 = 0; d3 <= 9; d3++) {
-                    if (d3 == d1 || d3 == d2) continue;
-                    for (int d4 = 1; d4 <= 9; d4++) {
-                        if (d4 == d1 || d4 == d2 || d4 == d3) continue;
-                        StringBuilder candidate = new StringBuilder().append(d1).append(d2).append(d3).append(d4);
-                        possibleGuesses.add(candidate.toString());
-                    }
-                }
-            }
+        CodeSpace codeSpace = getCodeSpace();
+        if (FeedbackTable.isSupported(codeSpace)) {
+            feedbackTable = FeedbackTable.of(codeSpace);
+            openingBook = OpeningBook.of(feedbackTable, guessStrategy);
+            possibleGuesses = feedbackTable.newCandidateSet();
+        } else {
+            feedbackTable = null;
+            openingBook = null;
+            possibleGuesses = null;
         }
+        guessesGenerated = true;
     }
 
     /**
-     * checks if the possible guess matches up same bulls and cows with target
+     * guesses a code of a large code space by sampled minimax over codes consistent with every guess result
+     * the code space is never materialized, so memory stays flat whatever the code length,
+     * and a guess scores a sample of fixed size, so its time grows with the code space only.
+     * With a move budget, the code reached when the budget runs out is guessed even if it is not consistent.
      *
-     * @param target target guess
-     * @param guess  possible guess
-     * @param bulls  target bulls number
-     * @param cows   target cows number
-     * @return is candidate match up same bulls and cows with target
+     * @param deadline the System.nanoTime by which the guess is made, if the guess has a budget
+     * @return computer's guess, or null if no code is consistent with the guess results
      */
-    private boolean isGuessMatchUp(String target, String guess, int bulls, int cows) {
-        int i = 0;
-        while (i < guess.length()) {
-            int index = target.indexOf(guess.charAt(i));
-            if (index == i) bulls--;
-            else if (index >= 0) cows--;
-            i++;
+    private String guessLargeCodeSpace(long deadline) {
+        CodeSpace codeSpace = getCodeSpace();
+        GuessHistory history = GuessHistory.of(codeSpace, getGuessResults());
+        long[] candidates = sampleCandidates(codeSpace, history, deadline);
+        if (candidates.length == 0) return null;
+        long guess;
+        if (candidates.length == 1)
+            guess = candidates[0];
+        else if (getMoveBudget() > 0)
+            guess = sampledStrategy.selectCode(codeSpace, candidates, deadline, splitRandom());
+        else
+            guess = sampledStrategy.selectCode(codeSpace, candidates);
+        return codeSpace.toString(guess);
+    }
+
+    /**
+     * samples codes consistent with every guess result
+     * random codes are drawn first and filtered in a batch, which samples the consistent codes uniformly while they are many,
+     * when too few of them are consistent the codes are enumerated lazily from a random index and filtered
+     * in parallel, wrapping around to the start of the space, which finds every consistent code once they are few.
+     * At most MAX_SCANNED_CODES codes are enumerated, with or without a move budget, so a guess takes bounded time
+     * whatever the code space: a code space of up to 2^24 codes is scanned whole, in a larger one a guess
+     * which finds no consistent code in its scan guesses the first code scanned, and the next guess scans elsewhere.
+     *
+     * @param codeSpace the code space of guesses
+     * @param history   the guess history
+     * @param deadline  the System.nanoTime by which the guess is made, if the guess has a budget
+     * @return packed consistent codes, or the code reached by the deadline or the end of the scan if none is found,
+     * or no code if the whole code space is scanned and none is consistent
+     */
+    private long[] sampleCandidates(CodeSpace codeSpace, GuessHistory history, long deadline) {
+        int sampleSize = sampledStrategy.getSampleSize();
+        long[] drawn = new long[sampleSize * DRAWS_PER_SAMPLE];
+        for (int i = 0; i < drawn.length; i++)
+            drawn[i] = codeSpace.unrank(getRandomDigit(0, codeSpace.size() - 1));
+        int consistent = history.retainConsistent(drawn, drawn.length);
+        long[] candidates = Arrays.stream(drawn, 0, consistent).distinct().limit(sampleSize).toArray();
+        if (candidates.length * 2 >= sampleSize) return candidates;
+        LongPredicate acceptable = getMoveBudget() > 0
+                ? code -> history.isConsistent(code) || System.nanoTime() - deadline >= 0
+                : history::isConsistent;
+        int scanned = Math.min(codeSpace.size(), MAX_SCANNED_CODES);
+        int start = getRandomDigit(0, codeSpace.size() - 1);
+        int end = (int) Math.min(codeSpace.size(), (long) start + scanned);
+        long[] found = codeSpace.codes(start, end).parallel().filter(acceptable)
+                .limit(sampleSize).toArray();
+        if (found.length < sampleSize && end - start < scanned) {
+            long[] wrapped = codeSpace.codes(0, scanned - (end - start)).parallel().filter(acceptable)
+                    .limit(sampleSize - found.length).toArray();
+            found = Arrays.copyOf(found, found.length + wrapped.length);
+            System.arraycopy(wrapped, 0, found, found.length - wrapped.length, wrapped.length);
         }
-        return (bulls == 0) && (cows == 0);
+        if (found.length == 0)
+            return scanned < codeSpace.size() ? new long[]{codeSpace.unrank(start)} : found;
+        long reached = found[0];
+        consistent = history.retainConsistent(found, found.length);
+        return consistent == 0 ? new long[]{reached} : Arrays.copyOf(found, consistent);
+    }
+
+    /**
+     * follows the guess results in the opening book
+     *
+     * @return index of the next guess, or -1 if the guess history is not in the book
+     */
+    private int lookUpOpeningBook() {
+        if (openingBook == null) return -1;
+        CodeSpace codeSpace = getCodeSpace();
+        int node = OpeningBook.ROOT;
+        for (Result result : getGuessResults()) {
+            if (openingBook.getGuess(node) != codeSpace.indexOf(result.getGuess())) return -1;
+            node = openingBook.getChild(node, codeSpace.packFeedback(result.getBulls(), result.getCows()));
+            if (node < 0) return -1;
+        }
+        return openingBook.getGuess(node);
+    }
+
+    /**
+     * removes the possible guesses which do not match up same bulls and same cows with the latest result
+     *
+     * @param latestResult the latest guess result
+     */
+    private void removeUnmatchedGuesses(Result latestResult) {
+        CodeSpace codeSpace = getCodeSpace();
+        possibleGuesses.retainFeedback(feedbackTable, codeSpace.indexOf(latestResult.getGuess()),
+                codeSpace.packFeedback(latestResult.getBulls(), latestResult.getCows()));
     }
 
 }
@@ -1,11 +1,17 @@
 package industry.assignment02.role;
 
 import industry.assignment02.game.Result;
+import industry.assignment02.solver.CodeSpace;
 
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class MediumAI extends Computer {
+    private final IntMap valueAt = new IntMap();
+    private final IntMap positionOf = new IntMap();
+    private int unguessedCount = -1;
+    private int recordedResults;
+
     /**
      * constructor of MediumAI
      *
@@ -15,31 +21,149 @@ public class MediumAI extends Computer {
         setAiLevel(aiLevel);
     }
 
+    /**
+     * sets the code space of secret codes, the guessed codes are forgotten
+     *
+     * @param codeSpace the code space of secret codes
+     */
+    @Override
+    public void setCodeSpace(CodeSpace codeSpace) {
+        super.setCodeSpace(codeSpace);
+        valueAt.clear();
+        positionOf.clear();
+        unguessedCount = -1;
+        recordedResults = 0;
+    }
+
     /**
      * MediumAI guesses player's secret with MediumAI guess strategy
      * The AI will not make the same guess twice.
+     * The unguessed indices of the code space are the front of a virtual array of every index,
+     * a guessed index is swapped to the back, so a guess is one random draw from the front and one unrank,
+     * whatever the game length or the share of the code space guessed.
      *
-     * @return computer's random guess
+     * @return computer's random guess, or null if every code is guessed
      */
     @Override
     public String guessPlayerCode() {
-        String randomGuess;
-        do {
-            randomGuess = genRandomCode(4, false);
-        } while (isRepeatGuess(randomGuess));
-        return randomGuess;
+        CodeSpace codeSpace = getCodeSpace();
+        recordGuesses(codeSpace);
+        if (unguessedCount == 0) return null;
+        int index = getValueAt(getRandomDigit(0, unguessedCount - 1));
+        return codeSpace.toString(codeSpace.unrank(index));
+    }
+
+    /**
+     * swaps the guesses of the guess results not recorded yet to the back of the virtual array
+     * only the positions whose index is swapped are kept, so memory grows with the guesses, not the code space,
+     * positions at the back are never read again, so they are not removed
+     *
+     * @param codeSpace the code space of guesses
+     */
+    private void recordGuesses(CodeSpace codeSpace) {
+        if (unguessedCount < 0)
+            unguessedCount = codeSpace.size();
+        List<Result> results = getGuessResults();
+        for (; recordedResults < results.size(); recordedResults++) {
+            int index = codeSpace.indexOf(results.get(recordedResults).getGuess());
+            if (index < 0) continue;
+            int position = positionOf.get(index, index);
+            if (position >= unguessedCount) continue;
+            int last = --unguessedCount;
+            int lastIndex = getValueAt(last);
+            valueAt.put(position, lastIndex);
+            positionOf.put(lastIndex, position);
+            positionOf.put(index, last);
+        }
     }
 
     /**
-     * checks if next guess already exists
+     * returns the index at a position of the virtual array
      *
-     * @param guess next guess code
-     * @return is next guess already exists
+     * @param position position in the virtual array
+     * @return index of code
+     */
+    private int getValueAt(int position) {
+        return valueAt.get(position, position);
+    }
+
+    /**
+     * A map of int keys to int values by open addressing with linear probing, keys are not negative
+     * entries are stored in primitive arrays, so a lookup or an update allocates nothing
+     * unless the arrays grow, which they do by doubling when half full.
      */
-    private boolean isRepeatGuess(String guess) {
-        List<Result> repeatGuess = getGuessResults().stream()
-                .filter(result -> result.getGuess().equals(guess))
-                .collect(Collectors.toList());
-        return repeatGuess.size() > 0;
+    private static final class IntMap {
+        private static final int EMPTY = -1;
+        private int[] keys = newKeys(16);
+        private int[] values = new int[16];
+        private int size;
+
+        /**
+         * returns the value of a key
+         *
+         * @param key          A key, not negative
+         * @param defaultValue the value if the key has none
+         * @return the value of the key, or defaultValue
+         */
+        private int get(int key, int defaultValue) {
+            for (int slot = slotOf(key, keys.length); keys[slot] != EMPTY; slot = (slot + 1) & (keys.length - 1))
+                if (keys[slot] == key) return values[slot];
+            return defaultValue;
+        }
+
+        /**
+         * sets the value of a key
+         *
+         * @param key   A key, not negative
+         * @param value the value of the key
+         */
+        private void put(int key, int value) {
+            int slot = slotOf(key, keys.length);
+            for (; keys[slot] != EMPTY; slot = (slot + 1) & (keys.length - 1)) {
+                if (keys[slot] == key) {
+                    values[slot] = value;
+                    return;
+                }
+            }
+            keys[slot] = key;
+            values[slot] = value;
+            if (++size * 2 > keys.length) grow();
+        }
+
+        /**
+         * removes every entry, the arrays are kept
+         */
+        private void clear() {
+            Arrays.fill(keys, EMPTY);
+            size = 0;
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = newKeys(oldKeys.length * 2);
+            values = new int[oldKeys.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] == EMPTY) continue;
+                int slot = slotOf(oldKeys[i], keys.length);
+                while (keys[slot] != EMPTY)
+                    slot = (slot + 1) & (keys.length - 1);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+
+        private static int[] newKeys(int capacity) {
+            int[] keys = new int[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+
+        /**
+         * returns the home slot of a key, the key is mixed so consecutive keys spread over the table
+         */
+        private static int slotOf(int key, int capacity) {
+            return (key * 0x9E3779B9 >>> 16 ^ key * 0x9E3779B9) & (capacity - 1);
+        }
     }
 }
@@ -0,0 +1,133 @@
+package industry.assignment02.role;
+
+import industry.assignment02.dictionary.WordleDictionary;
+import industry.assignment02.game.Result;
+import industry.assignment02.game.WordleFileNotFoundException;
+import industry.assignment02.metrics.GameMetrics;
+import industry.assignment02.solver.CandidateSet;
+import industry.assignment02.solver.GuessStrategy;
+import industry.assignment02.solver.PartitionGuessStrategy;
+import industry.assignment02.solver.PartitionScore;
+import industry.assignment02.solver.WordlePatternTable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public class WordleAI extends Computer {
+    private final GuessStrategy guessStrategy;
+    private WordleDictionary dictionary;
+    private WordlePatternTable patternTable;
+    private CandidateSet possibleAnswers;
+
+    /**
+     * constructor of WordleAI
+     * guesses are selected by maximum information entropy
+     *
+     * @param aiLevel computer AI Level
+     */
+    public WordleAI(AILevel aiLevel) {
+        this(aiLevel, new PartitionGuessStrategy(PartitionScore.MAX_ENTROPY));
+    }
+
+    /**
+     * constructor of WordleAI
+     *
+     * @param aiLevel       computer AI Level
+     * @param guessStrategy strategy to select the next guess from the possible answers
+     */
+    public WordleAI(AILevel aiLevel, GuessStrategy guessStrategy) {
+        setAiLevel(aiLevel);
+        this.guessStrategy = guessStrategy;
+    }
+
+    /**
+     * generates Wordle five-letter word from dictionary.txt, then loads the dictionary to solve player's word
+     */
+    @Override
+    public void genWordleCode() throws WordleFileNotFoundException {
+        super.genWordleCode();
+        loadDictionary();
+    }
+
+    /**
+     * loads the dictionary and its pattern table, every word of the dictionary is a possible answer
+     *
+     * @throws WordleFileNotFoundException when the dictionary file cannot be found
+     */
+    public void loadDictionary() throws WordleFileNotFoundException {
+        dictionary = WordleDictionary.load(getWordleFileName());
+        patternTable = WordlePatternTable.of(dictionary);
+        possibleAnswers = CandidateSet.full(dictionary.size());
+    }
+
+    /**
+     * WordleAI guesses player's secret word
+     * According to the latest guess result, removes the possible answers which do not give the same tiles
+     * then the guess strategy selects the next guess from all dictionary words against the possible answers,
+     * within the move budget if there is one
+     *
+     * @return computer's guess
+     */
+    @Override
+    public String guessPlayerCode() {
+        long deadline = getMoveDeadline();
+        if (possibleAnswers == null)
+            throw new IllegalStateException("Wordle dictionary is not loaded!");
+        if (getGuessResults().size() > 0) {
+            Result latestResult = getGuessResults().get(getGuessResults().size() - 1);
+            possibleAnswers.retainFeedback(patternTable, dictionary.indexOf(latestResult.getGuess()),
+                    WordlePatternTable.toPatternCode(latestResult.getTilePattern()));
+        }
+        GameMetrics.getInstance().recordCandidateSetSize(getAiLevel(), getGuessResults().size() + 1, possibleAnswers.size());
+        if (possibleAnswers.size() == 0) return null;
+        int guess = getMoveBudget() > 0 ? guessStrategy.selectGuess(patternTable, possibleAnswers, deadline, splitRandom())
+                : guessStrategy.selectGuess(patternTable, possibleAnswers);
+        return dictionary.getWord(guess);
+    }
+
+    /**
+     * checks if the word can be a secret word of the player, it must be a word of the dictionary
+     *
+     * @param word A Wordle word
+     * @return is the word in the dictionary
+     */
+    public boolean isWordInDictionary(String word) {
+        return dictionary != null && dictionary.indexOf(word) >= 0;
+    }
+
+    /**
+     * writes the fingerprint of the dictionary and the remaining answers as a bitset over it
+     *
+     * @param out the output of the snapshot
+     * @throws IOException if the state can not be written
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeBoolean(possibleAnswers != null);
+        if (possibleAnswers == null) return;
+        out.writeLong(dictionary.getFingerprint());
+        possibleAnswers.writeTo(out);
+    }
+
+    /**
+     * loads the dictionary and reads the remaining answers
+     *
+     * @param in the input of the snapshot
+     * @throws IOException if the state can not be read or the dictionary has changed
+     */
+    @Override
+    public void readState(DataInput in) throws IOException {
+        if (!in.readBoolean()) return;
+        long fingerprint = in.readLong();
+        CandidateSet answers = CandidateSet.readFrom(in);
+        try {
+            loadDictionary();
+        } catch (WordleFileNotFoundException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        if (fingerprint != dictionary.getFingerprint() || answers.capacity() != dictionary.size())
+            throw new IOException("Wordle dictionary " + getWordleFileName() + " has changed!");
+        possibleAnswers = answers;
+    }
+}
@@ -0,0 +1,164 @@
+package industry.assignment02.simulation;
+
+import industry.assignment02.game.Game;
+import industry.assignment02.game.Result;
+import industry.assignment02.role.Computer;
+import industry.assignment02.solver.CodeSpace;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * plays Bulls and Cows games headlessly: a computer guesses a secret code until it is solved or max attempts is full
+ * games are played in parallel on a fork/join pool, nothing is read from or printed to the console.
+ * With a seed, every game number has a seed of its own, so a simulation replays the same whatever the parallelism.
+ */
+public class GameSimulator {
+    private static final String GUESSER = "Computer";
+    private static final long SEED_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final Supplier<? extends Computer> computerFactory;
+    private final CodeSpace codeSpace;
+    private final int maxAttempts;
+    private final ForkJoinPool pool;
+    private long seed;
+    private boolean seeded;
+
+    /**
+     * Constructor of GameSimulator, plays 4 digits codes with the max attempts of Bulls and Cows
+     * in the common fork/join pool
+     *
+     * @param computerFactory creates a new computer for each game
+     */
+    public GameSimulator(Supplier<? extends Computer> computerFactory) {
+        this(computerFactory, CodeSpace.DEFAULT, Game.BULLSANDCOWS_MAX_ATTEMPTS, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor of GameSimulator
+     *
+     * @param computerFactory creates a new computer for each game
+     * @param codeSpace       the code space of secret codes
+     * @param maxAttempts     the maximum number of guesses of a game
+     * @param pool            the fork/join pool to play games in
+     */
+    public GameSimulator(Supplier<? extends Computer> computerFactory, CodeSpace codeSpace, int maxAttempts,
+                         ForkJoinPool pool) {
+        this.computerFactory = computerFactory;
+        this.codeSpace = codeSpace;
+        this.maxAttempts = maxAttempts;
+        this.pool = pool;
+    }
+
+    /**
+     * sets the seed of the random secret codes and computers' random choices of the games
+     *
+     * @param seed the seed
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+        this.seeded = true;
+    }
+
+    /**
+     * plays games against random secret codes
+     *
+     * @param games the number of games
+     * @return statistics of the games
+     */
+    public SimulationResult simulate(int games) {
+        return simulate(games, game -> {
+            int secret = seeded ? new SplittableRandom(getGameSeed(game) ^ SEED_GAMMA).nextInt(codeSpace.size())
+                    : ThreadLocalRandom.current().nextInt(codeSpace.size());
+            return codeSpace.toString(codeSpace.unrank(secret));
+        });
+    }
+
+    /**
+     * plays games against a fixed secret code
+     *
+     * @param games      the number of games
+     * @param secretCode the secret code of every game
+     * @return statistics of the games
+     */
+    public SimulationResult simulate(int games, String secretCode) {
+        return simulate(games, game -> secretCode);
+    }
+
+    /**
+     * plays one game against every possible secret code
+     *
+     * @return statistics of the games
+     */
+    public SimulationResult simulateAllSecretCodes() {
+        return simulate(codeSpace.size(), index -> codeSpace.toString(codeSpace.unrank(index)));
+    }
+
+    /**
+     * plays games against the secret codes supplied for each game number
+     *
+     * @param games       the number of games
+     * @param secretCodes returns the secret code of a game number
+     * @return statistics of the games
+     */
+    public SimulationResult simulate(int games, IntFunction<String> secretCodes) {
+        long start = System.nanoTime();
+        int[] turnCounts = pool.submit(() -> IntStream.range(0, games).parallel()
+                .map(game -> play(secretCodes.apply(game), game))
+                .collect(() -> new int[maxAttempts + 1],
+                        (counts, turns) -> counts[turns]++,
+                        (left, right) -> {
+                            for (int i = 0; i < left.length; i++)
+                                left[i] += right[i];
+                        })).join();
+        return new SimulationResult(turnCounts, System.nanoTime() - start);
+    }
+
+    /**
+     * plays one game: the computer guesses the secret code until it is correct or max attempts is full,
+     * a computer which has no guess left loses the game
+     *
+     * @param secretCode the secret code to guess
+     * @return the number of turns to solve the secret code, or 0 if it is not solved
+     */
+    public int play(String secretCode) {
+        return play(secretCode, -1);
+    }
+
+    /**
+     * plays game number of a simulation, the computer is seeded by the game number when the simulation has a seed
+     *
+     * @param secretCode the secret code to guess
+     * @param game       the game number, or -1 for a game out of a simulation
+     * @return the number of turns to solve the secret code, or 0 if it is not solved
+     */
+    private int play(String secretCode, int game) {
+        Computer computer = computerFactory.get();
+        computer.setCodeSpace(codeSpace);
+        if (seeded && game >= 0)
+            computer.setSeed(getGameSeed(game));
+        for (int turn = 1; turn <= maxAttempts; turn++) {
+            String guess = computer.guessPlayerCode();
+            if (guess == null) return 0;
+            Result result = Game.scoreBullsAndCowsResult(GUESSER, secretCode, guess);
+            computer.getGuessResults().add(result);
+            if (result.isGuessCorrect())
+                return turn;
+        }
+        return 0;
+    }
+
+    /**
+     * returns the seed of a game number
+     *
+     * @param game the game number
+     * @return seed
+     */
+    private long getGameSeed(int game) {
+        return seed + game * SEED_GAMMA;
+    }
+}
@@ -0,0 +1,107 @@
+package industry.assignment02.simulation;
+
+/**
+ * aggregate statistics of a batch of simulated games
+ */
+public class SimulationResult {
+    private final int[] turnCounts;
+    private final long elapsedNanos;
+
+    /**
+     * Constructor of SimulationResult
+     *
+     * @param turnCounts   the number of games solved in each number of turns, index 0 counts the games lost
+     * @param elapsedNanos the wall clock time of the batch in nanoseconds
+     */
+    public SimulationResult(int[] turnCounts, long elapsedNanos) {
+        this.turnCounts = turnCounts.clone();
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * returns the number of games solved in the number of turns
+     *
+     * @param turns the number of turns, 0 for the games lost
+     * @return the number of games
+     */
+    public int getGameCount(int turns) {
+        return (turns >= 0 && turns < turnCounts.length) ? turnCounts[turns] : 0;
+    }
+
+    /**
+     * returns the number of games simulated
+     *
+     * @return the number of games
+     */
+    public int getGames() {
+        int games = 0;
+        for (int count : turnCounts)
+            games += count;
+        return games;
+    }
+
+    /**
+     * returns the number of games solved within max attempts
+     *
+     * @return the number of wins
+     */
+    public int getWins() {
+        return getGames() - turnCounts[0];
+    }
+
+    /**
+     * returns the ratio of games solved within max attempts
+     *
+     * @return win rate from 0 to 1
+     */
+    public double getWinRate() {
+        int games = getGames();
+        return games == 0 ? 0 : (double) getWins() / games;
+    }
+
+    /**
+     * returns the average number of turns of the games solved
+     *
+     * @return average turns
+     */
+    public double getAverageTurns() {
+        long turns = 0;
+        for (int i = 1; i < turnCounts.length; i++)
+            turns += (long) i * turnCounts[i];
+        int wins = getWins();
+        return wins == 0 ? 0 : (double) turns / wins;
+    }
+
+    /**
+     * returns the wall clock time of the batch
+     *
+     * @return elapsed nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * returns the throughput of the batch
+     *
+     * @return games per second
+     */
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : getGames() * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * returns the String of the statistics
+     *
+     * @return A string
+     */
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("Games: %d, win rate: %.2f%%, average turns: %.3f, throughput: %.1f games/s",
+                getGames(), getWinRate() * 100, getAverageTurns(), getGamesPerSecond()));
+        for (int i = 1; i < turnCounts.length; i++)
+            text.append(String.format("%nTurn %d: %d", i, turnCounts[i]));
+        text.append(String.format("%nLost: %d", turnCounts[0]));
+        return text.toString();
+    }
+}
@@ -0,0 +1,173 @@
+package industry.assignment02.simulation;
+
+import industry.assignment02.game.Game;
+import industry.assignment02.game.Result;
+import industry.assignment02.role.AILevel;
+import industry.assignment02.role.Computer;
+import industry.assignment02.solver.CodeSpace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+/**
+ * A round robin tournament of Bulls and Cows computers
+ * every pair of AI levels plays a match on every secret code of the code space: both computers guess the same
+ * secret code, the one solving it in fewer turns wins, solving it in the same turn or not at all is a draw.
+ * Matches are played in parallel on a work-stealing fork/join pool, each match has a seed of its own,
+ * so a tournament of the same seed replays the same whatever the parallelism.
+ */
+public class Tournament {
+    public static final List<AILevel> BULLS_AND_COWS_LEVELS = List.of(AILevel.EASYAI, AILevel.MEDIUMAI, AILevel.HARDAI);
+    private static final String GUESSER = "Computer";
+    private static final long SEED_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final List<AILevel> levels;
+    private final CodeSpace codeSpace;
+    private final int maxAttempts;
+    private final ForkJoinPool pool;
+    private long seed = ThreadLocalRandom.current().nextLong();
+
+    /**
+     * Constructor of Tournament, plays 4 digits codes with the max attempts of Bulls and Cows in the common fork/join pool
+     *
+     * @param levels the AI levels of the tournament, at least two
+     */
+    public Tournament(List<AILevel> levels) {
+        this(levels, CodeSpace.DEFAULT, Game.BULLSANDCOWS_MAX_ATTEMPTS, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor of Tournament
+     *
+     * @param levels      the AI levels of the tournament, at least two
+     * @param codeSpace   the code space of secret codes, every code is played by every pair
+     * @param maxAttempts the maximum number of guesses of a game
+     * @param pool        the fork/join pool to play matches in
+     */
+    public Tournament(List<AILevel> levels, CodeSpace codeSpace, int maxAttempts, ForkJoinPool pool) {
+        if (levels.size() < 2)
+            throw new IllegalArgumentException("A tournament needs at least two AI levels!");
+        this.levels = new ArrayList<>(levels);
+        this.codeSpace = codeSpace;
+        this.maxAttempts = maxAttempts;
+        this.pool = pool;
+    }
+
+    /**
+     * Runs a tournament of EasyAI, MediumAI and HardAI and prints the tables
+     *
+     * @param args The array of string parsed from command-line: [seed]
+     */
+    public static void main(String[] args) {
+        Tournament tournament = new Tournament(BULLS_AND_COWS_LEVELS);
+        if (args.length > 0)
+            tournament.setSeed(Long.parseLong(args[0]));
+        System.out.println(tournament.run());
+    }
+
+    /**
+     * sets the seed of the computers' random choices
+     *
+     * @param seed the seed
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * plays every match of the round robin
+     *
+     * @return the results of the tournament
+     */
+    public TournamentResult run() {
+        int levelCount = levels.size();
+        int[][] pairs = new int[levelCount * (levelCount - 1) / 2][];
+        int pairCount = 0;
+        for (int first = 0; first < levelCount; first++)
+            for (int second = first + 1; second < levelCount; second++)
+                pairs[pairCount++] = new int[]{first, second};
+        int secrets = codeSpace.size();
+        long start = System.nanoTime();
+        MatchTally tally = pool.submit(() -> IntStream.range(0, pairs.length * secrets).parallel()
+                .collect(() -> new MatchTally(levelCount),
+                        (matches, match) -> playMatch(matches, pairs[match / secrets], match % secrets, match),
+                        MatchTally::add)).join();
+        return new TournamentResult(levels, tally.wins, tally.draws, tally.guesses, tally.guessNanos,
+                System.nanoTime() - start);
+    }
+
+    /**
+     * plays a match of a pair of AI levels on a secret code
+     *
+     * @param tally  the results to add the match to
+     * @param pair   the indices of the two AI levels
+     * @param secret the index of the secret code
+     * @param match  the match number, which seeds the computers
+     */
+    private void playMatch(MatchTally tally, int[] pair, int secret, int match) {
+        String secretCode = codeSpace.toString(codeSpace.unrank(secret));
+        long matchSeed = seed + match * SEED_GAMMA;
+        int firstTurns = play(tally, pair[0], secretCode, matchSeed);
+        int secondTurns = play(tally, pair[1], secretCode, matchSeed ^ SEED_GAMMA);
+        if (firstTurns == secondTurns)
+            tally.draws[pair[0]][pair[1]]++;
+        else if (secondTurns == 0 || (firstTurns != 0 && firstTurns < secondTurns))
+            tally.wins[pair[0]][pair[1]]++;
+        else
+            tally.wins[pair[1]][pair[0]]++;
+    }
+
+    /**
+     * plays one side of a match: the computer guesses the secret code until it is correct or max attempts is full
+     *
+     * @return the number of turns to solve the secret code, or 0 if it is not solved
+     */
+    private int play(MatchTally tally, int level, String secretCode, long computerSeed) {
+        Computer computer = levels.get(level).newComputer();
+        computer.setCodeSpace(codeSpace);
+        computer.setSeed(computerSeed);
+        for (int turn = 1; turn <= maxAttempts; turn++) {
+            long guessStart = System.nanoTime();
+            String guess = computer.guessPlayerCode();
+            tally.guessNanos[level] += System.nanoTime() - guessStart;
+            tally.guesses[level]++;
+            if (guess == null) return 0;
+            Result result = Game.scoreBullsAndCowsResult(GUESSER, secretCode, guess);
+            computer.getGuessResults().add(result);
+            if (result.isGuessCorrect())
+                return turn;
+        }
+        return 0;
+    }
+
+    /**
+     * the results of the matches played by one worker, merged when the workers finish
+     */
+    private static final class MatchTally {
+        private final int[][] wins;
+        private final int[][] draws;
+        private final long[] guesses;
+        private final long[] guessNanos;
+
+        private MatchTally(int levelCount) {
+            wins = new int[levelCount][levelCount];
+            draws = new int[levelCount][levelCount];
+            guesses = new long[levelCount];
+            guessNanos = new long[levelCount];
+        }
+
+        private void add(MatchTally other) {
+            for (int i = 0; i < wins.length; i++) {
+                for (int j = 0; j < wins.length; j++) {
+                    wins[i][j] += other.wins[i][j];
+                    draws[i][j] += other.draws[i][j];
+                }
+                guesses[i] += other.guesses[i];
+                guessNanos[i] += other.guessNanos[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package industry.assignment02.simulation;
+
+import industry.assignment02.role.AILevel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * the results of a round robin tournament: wins and draws of every pair of AI levels,
+ * Elo ratings fitted to the results and the time each AI level takes per guess
+ */
+public class TournamentResult {
+    private static final double INITIAL_RATING = 1500;
+    private static final double RATING_SCALE = 400;
+    private static final int RATING_ITERATIONS = 200;
+    private static final double MAX_RATING_STEP = 32;
+
+    private final List<AILevel> levels;
+    private final int[][] wins;
+    private final int[][] draws;
+    private final long[] guesses;
+    private final long[] guessNanos;
+    private final long elapsedNanos;
+    private final double[] ratings;
+
+    /**
+     * Constructor of TournamentResult
+     *
+     * @param levels       the AI levels of the tournament
+     * @param wins         wins[i][j] is the number of matches level i won against level j
+     * @param draws        draws[i][j] is the number of draws of level i against level j, for i less than j
+     * @param guesses      the number of guesses of each level
+     * @param guessNanos   the time of the guesses of each level in nanoseconds
+     * @param elapsedNanos the wall clock time of the tournament in nanoseconds
+     */
+    public TournamentResult(List<AILevel> levels, int[][] wins, int[][] draws, long[] guesses, long[] guessNanos,
+                            long elapsedNanos) {
+        this.levels = new ArrayList<>(levels);
+        this.wins = wins;
+        this.draws = draws;
+        this.guesses = guesses;
+        this.guessNanos = guessNanos;
+        this.elapsedNanos = elapsedNanos;
+        this.ratings = fitRatings();
+    }
+
+    /**
+     * returns the AI levels of the tournament
+     *
+     * @return levels
+     */
+    public List<AILevel> getLevels() {
+        return levels;
+    }
+
+    /**
+     * returns the number of matches a level won against another level
+     *
+     * @param level    A level of the tournament
+     * @param opponent another level of the tournament
+     * @return the number of wins
+     */
+    public int getWins(AILevel level, AILevel opponent) {
+        return wins[levels.indexOf(level)][levels.indexOf(opponent)];
+    }
+
+    /**
+     * returns the number of matches between two levels
+     *
+     * @param level    A level of the tournament
+     * @param opponent another level of the tournament
+     * @return the number of matches
+     */
+    public int getMatches(AILevel level, AILevel opponent) {
+        return getMatches(levels.indexOf(level), levels.indexOf(opponent));
+    }
+
+    /**
+     * returns the score of a level: wins plus half the draws, over all its matches
+     *
+     * @param level A level of the tournament
+     * @return win rate from 0 to 1
+     */
+    public double getWinRate(AILevel level) {
+        int i = levels.indexOf(level);
+        double score = 0;
+        int matches = 0;
+        for (int j = 0; j < levels.size(); j++) {
+            score += getScore(i, j);
+            matches += getMatches(i, j);
+        }
+        return matches == 0 ? 0 : score / matches;
+    }
+
+    /**
+     * returns the Elo rating of a level, fitted to all matches of the tournament
+     * a level which won or lost every match has a rating only bounded by the fitting iterations
+     *
+     * @param level A level of the tournament
+     * @return Elo rating, 1500 on average
+     */
+    public double getRating(AILevel level) {
+        return ratings[levels.indexOf(level)];
+    }
+
+    /**
+     * returns the average time a level takes to guess
+     *
+     * @param level A level of the tournament
+     * @return microseconds per guess
+     */
+    public double getMicrosPerGuess(AILevel level) {
+        int i = levels.indexOf(level);
+        return guesses[i] == 0 ? 0 : guessNanos[i] / 1e3 / guesses[i];
+    }
+
+    /**
+     * returns the wall clock time of the tournament
+     *
+     * @return elapsed nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * returns the String of the Elo table, sorted by rating, and the win rate table of every pair
+     *
+     * @return A string
+     */
+    public String toString() {
+        List<AILevel> ranking = new ArrayList<>(levels);
+        ranking.sort(Comparator.comparingDouble(this::getRating).reversed());
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("Tournament of %d matches in %.1f s%n", getTotalMatches(), elapsedNanos / 1e9));
+        text.append(String.format("%-10s %8s %10s %14s%n", "AI level", "Elo", "win rate", "us per guess"));
+        for (AILevel level : ranking)
+            text.append(String.format("%-10s %8.0f %9.2f%% %14.2f%n",
+                    level, getRating(level), getWinRate(level) * 100, getMicrosPerGuess(level)));
+        text.append(String.format("%nWin rate of row against column%n%-10s", ""));
+        for (AILevel opponent : ranking)
+            text.append(String.format(" %10s", opponent));
+        for (AILevel level : ranking) {
+            text.append(String.format("%n%-10s", level));
+            for (AILevel opponent : ranking) {
+                int i = levels.indexOf(level), j = levels.indexOf(opponent);
+                int matches = getMatches(i, j);
+                text.append(matches == 0 ? String.format(" %10s", "-")
+                        : String.format(" %9.2f%%", getScore(i, j) * 100 / matches));
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * returns the number of matches of the tournament
+     */
+    private int getTotalMatches() {
+        int matches = 0;
+        for (int i = 0; i < levels.size(); i++)
+            for (int j = i + 1; j < levels.size(); j++)
+                matches += getMatches(i, j);
+        return matches;
+    }
+
+    /**
+     * returns the number of matches between the levels of two indices
+     */
+    private int getMatches(int i, int j) {
+        return wins[i][j] + wins[j][i] + draws[i][j] + draws[j][i];
+    }
+
+    /**
+     * returns wins plus half the draws of the level of index i against the level of index j
+     */
+    private double getScore(int i, int j) {
+        return wins[i][j] + 0.5 * (draws[i][j] + draws[j][i]);
+    }
+
+    /**
+     * fits Elo ratings to the scores of all matches
+     * each iteration moves every rating towards its actual score from its expected score,
+     * until the expected scores of the ratings match the actual scores
+     *
+     * @return the rating of each level
+     */
+    private double[] fitRatings() {
+        int n = levels.size();
+        double[] fitted = new double[n];
+        Arrays.fill(fitted, INITIAL_RATING);
+        for (int iteration = 0; iteration < RATING_ITERATIONS; iteration++) {
+            double[] next = fitted.clone();
+            for (int i = 0; i < n; i++) {
+                double actual = 0, expected = 0;
+                int matches = 0;
+                for (int j = 0; j < n; j++) {
+                    int pairMatches = getMatches(i, j);
+                    if (i == j || pairMatches == 0) continue;
+                    actual += getScore(i, j);
+                    expected += pairMatches / (1 + Math.pow(10, (fitted[j] - fitted[i]) / RATING_SCALE));
+                    matches += pairMatches;
+                }
+                if (matches > 0)
+                    next[i] += Math.max(-MAX_RATING_STEP, Math.min(MAX_RATING_STEP,
+                            RATING_SCALE * (actual - expected) / matches));
+            }
+            fitted = next;
+        }
+        return fitted;
+    }
+}
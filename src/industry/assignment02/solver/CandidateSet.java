@@ -0,0 +1,210 @@
+package industry.assignment02.solver;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * A set of candidate indices backed by a primitive bitset
+ * filtering works in place and does not allocate
+ */
+public final class CandidateSet {
+    private final long[] words;
+    private final int capacity;
+    private int size;
+
+    private CandidateSet(long[] words, int capacity, int size) {
+        this.words = words;
+        this.capacity = capacity;
+        this.size = size;
+    }
+
+    /**
+     * creates a set holding every index from 0 to capacity - 1
+     *
+     * @param capacity the number of indices
+     * @return A full candidate set
+     */
+    public static CandidateSet full(int capacity) {
+        long[] words = new long[(capacity + 63) >>> 6];
+        for (int i = 0; i < words.length; i++)
+            words[i] = -1L;
+        if ((capacity & 63) != 0)
+            words[words.length - 1] = (1L << capacity) - 1;
+        return new CandidateSet(words, capacity, capacity);
+    }
+
+    /**
+     * returns an independent copy of this set
+     *
+     * @return A copy of this set
+     */
+    public CandidateSet copy() {
+        return new CandidateSet(words.clone(), capacity, size);
+    }
+
+    /**
+     * writes this set compactly: the capacity, then only the non-empty words of the bitset with their position
+     * a filtered set of a few candidates takes a few bytes, whatever its capacity
+     *
+     * @param out the output of the set
+     * @throws IOException if the set can not be written
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        int nonEmptyWords = 0;
+        for (long word : words)
+            if (word != 0) nonEmptyWords++;
+        out.writeInt(capacity);
+        out.writeInt(nonEmptyWords);
+        for (int i = 0; i < words.length; i++) {
+            if (words[i] == 0) continue;
+            out.writeInt(i);
+            out.writeLong(words[i]);
+        }
+    }
+
+    /**
+     * reads a set written by writeTo
+     *
+     * @param in the input of the set
+     * @return A candidate set
+     * @throws IOException if the set can not be read or is corrupt
+     */
+    public static CandidateSet readFrom(DataInput in) throws IOException {
+        int capacity = in.readInt();
+        int nonEmptyWords = in.readInt();
+        if (capacity < 0 || nonEmptyWords < 0 || nonEmptyWords > (capacity + 63) >>> 6)
+            throw new IOException("Corrupt candidate set of capacity " + capacity);
+        long[] words = new long[(capacity + 63) >>> 6];
+        int size = 0;
+        for (int n = 0; n < nonEmptyWords; n++) {
+            int i = in.readInt();
+            if (i < 0 || i >= words.length)
+                throw new IOException("Corrupt candidate set word " + i);
+            words[i] = in.readLong();
+            size += Long.bitCount(words[i]);
+        }
+        return new CandidateSet(words, capacity, size);
+    }
+
+    /**
+     * returns the number of indices this set can hold
+     *
+     * @return capacity
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * returns the number of candidates in this set
+     *
+     * @return size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * checks if the index is a candidate
+     *
+     * @param index index of code
+     * @return is the index in this set
+     */
+    public boolean contains(int index) {
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * removes the index from this set
+     *
+     * @param index index of code
+     */
+    public void remove(int index) {
+        long word = words[index >>> 6];
+        long bit = 1L << index;
+        if ((word & bit) == 0) return;
+        words[index >>> 6] = word & ~bit;
+        size--;
+    }
+
+    /**
+     * returns the first candidate at or after the index
+     *
+     * @param from the index to start from
+     * @return the next candidate, or -1 if there is none
+     */
+    public int next(int from) {
+        if (from >= capacity) return -1;
+        int w = from >>> 6;
+        long word = words[w] & (-1L << from);
+        while (word == 0) {
+            if (++w == words.length) return -1;
+            word = words[w];
+        }
+        return (w << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * returns the n-th candidate in ascending order
+     *
+     * @param n the position of the candidate, from 0 to size - 1
+     * @return the n-th candidate
+     */
+    public int get(int n) {
+        if (n < 0 || n >= size)
+            throw new IndexOutOfBoundsException("Candidate " + n + " is out of " + size + " candidates!");
+        int w = 0;
+        int count;
+        while ((count = Long.bitCount(words[w])) <= n) {
+            n -= count;
+            w++;
+        }
+        long word = words[w];
+        for (int i = 0; i < n; i++)
+            word &= word - 1;
+        return (w << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * copies the candidates in ascending order to a new array
+     *
+     * @return the candidates
+     */
+    public int[] toArray() {
+        int[] candidates = new int[size];
+        int count = 0;
+        for (int w = 0; w < words.length; w++) {
+            long word = words[w];
+            while (word != 0) {
+                candidates[count++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * removes the candidates which do not give the same feedback to the guess
+     *
+     * @param matrix   the feedback matrix of the game
+     * @param guess    index of guess
+     * @param feedback feedback of the guess
+     */
+    public void retainFeedback(FeedbackMatrix matrix, int guess, int feedback) {
+        int remaining = 0;
+        for (int w = 0; w < words.length; w++) {
+            long word = words[w];
+            long kept = word;
+            while (word != 0) {
+                int bit = Long.numberOfTrailingZeros(word);
+                if (matrix.getFeedback(guess, (w << 6) + bit) != feedback)
+                    kept &= ~(1L << bit);
+                word &= word - 1;
+            }
+            words[w] = kept;
+            remaining += Long.bitCount(kept);
+        }
+        size = remaining;
+    }
+}
@@ -0,0 +1,413 @@
+package industry.assignment02.solver;
+
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The space of Bulls and Cows secret codes: a number of non-repetitive symbols from an alphabet
+ * symbols are the digits 0 - 9, then the letters A - F for an alphabet of more than 10 symbols.
+ * A code is packed into a long: the symbol of position i in the 4-bit nibble i of the low 32 bits,
+ * and a bitmask of the symbols present in bits 32 - 47. So bulls is the number of equal nibbles
+ * and bulls plus cows is the bit count of the common symbols, both in constant time.
+ * Codes are ranked in lexicographic order, the rank of a code is its index in the space.
+ * Codes can be streamed lazily by rank range, so a large space is never materialized.
+ */
+public final class CodeSpace implements FeedbackMatrix {
+    public static final int MAX_LENGTH = 8;
+    public static final int MAX_ALPHABET_SIZE = 16;
+    public static final String SYMBOLS = "0123456789ABCDEF";
+    public static final CodeSpace DEFAULT = new CodeSpace(4, 10);
+    static final int PRESENCE_SHIFT = 32;
+    private static final long NIBBLE_LOW_BITS = 0x11111111L;
+
+    private final int length;
+    private final int alphabetSize;
+    private final int size;
+    private final long[] rankWeights;
+    private final long positionMask;
+
+    private CodeSpace(int length, int alphabetSize) {
+        this.length = length;
+        this.alphabetSize = alphabetSize;
+        this.rankWeights = new long[length];
+        long weight = 1;
+        for (int i = length - 1; i >= 0; i--) {
+            rankWeights[i] = weight;
+            weight *= alphabetSize - i;
+        }
+        this.size = (int) weight;
+        this.positionMask = (length == MAX_LENGTH) ? 0xFFFFFFFFL : (1L << (4 * length)) - 1;
+    }
+
+    /**
+     * returns the space of codes of a length from an alphabet
+     *
+     * @param length       the number of symbols of a code, from 1 to 8
+     * @param alphabetSize the number of symbols to choose from, from length to 16
+     * @return A code space
+     */
+    public static CodeSpace of(int length, int alphabetSize) {
+        if (length < 1 || length > MAX_LENGTH)
+            throw new IllegalArgumentException("Code length must be between 1 and " + MAX_LENGTH + "!");
+        if (alphabetSize < length || alphabetSize > MAX_ALPHABET_SIZE)
+            throw new IllegalArgumentException("Alphabet size must be between code length and " + MAX_ALPHABET_SIZE + "!");
+        if (length == DEFAULT.length && alphabetSize == DEFAULT.alphabetSize)
+            return DEFAULT;
+        return new CodeSpace(length, alphabetSize);
+    }
+
+    /**
+     * returns the number of symbols of a code
+     *
+     * @return length of code
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * returns the number of symbols to choose from
+     *
+     * @return size of alphabet
+     */
+    public int getAlphabetSize() {
+        return alphabetSize;
+    }
+
+    /**
+     * returns the number of codes in the space
+     *
+     * @return the number of codes
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * returns the number of different feedback values
+     *
+     * @return (length + 1) * (length + 1)
+     */
+    @Override
+    public int getFeedbackCount() {
+        return (length + 1) * (length + 1);
+    }
+
+    /**
+     * returns the feedback of guessing the secret with the guess, both given by index
+     *
+     * @param guess  index of guess
+     * @param secret index of secret code
+     * @return packed bulls and cows
+     */
+    @Override
+    public int getFeedback(int guess, int secret) {
+        return score(unrank(guess), unrank(secret));
+    }
+
+    /**
+     * returns the description of a valid code for messages to the player
+     *
+     * @return A description such as "non-repetitive 4 digits from 0-9"
+     */
+    public String getDescription() {
+        if (alphabetSize <= 10)
+            return "non-repetitive " + length + " digits from 0-" + SYMBOLS.charAt(alphabetSize - 1);
+        return "non-repetitive " + length + " symbols from 0-9 and A-" + SYMBOLS.charAt(alphabetSize - 1);
+    }
+
+    /**
+     * checks if the code is a code of this space
+     *
+     * @param code A code
+     * @return is code valid
+     */
+    public boolean isValid(String code) {
+        return pack(code) >= 0;
+    }
+
+    /**
+     * packs a code, symbols A - F may be upper or lower case
+     *
+     * @param code A code
+     * @return the packed code, or -1 if the code is not a code of this space
+     */
+    public long pack(CharSequence code) {
+        if (code == null || code.length() != length) return -1;
+        long packed = 0;
+        for (int i = 0; i < length; i++) {
+            int symbol = toSymbol(code.charAt(i));
+            if (symbol < 0 || symbol >= alphabetSize) return -1;
+            long presence = 1L << (PRESENCE_SHIFT + symbol);
+            if ((packed & presence) != 0) return -1;
+            packed |= presence | ((long) symbol << (4 * i));
+        }
+        return packed;
+    }
+
+    /**
+     * returns the String of a packed code
+     *
+     * @param packed A packed code
+     * @return A code
+     */
+    public String toString(long packed) {
+        char[] symbols = new char[length];
+        for (int i = 0; i < length; i++)
+            symbols[i] = SYMBOLS.charAt(getSymbol(packed, i));
+        return new String(symbols);
+    }
+
+    /**
+     * returns the symbol at a position of a packed code
+     *
+     * @param packed   A packed code
+     * @param position position in code
+     * @return symbol from 0 to alphabet size - 1
+     */
+    public static int getSymbol(long packed, int position) {
+        return (int) (packed >>> (4 * position)) & 15;
+    }
+
+    /**
+     * returns the code at an index in lexicographic order
+     *
+     * @param index index of code
+     * @return A packed code
+     */
+    public long unrank(long index) {
+        long packed = 0;
+        int used = 0;
+        for (int i = 0; i < length; i++) {
+            int nth = (int) (index / rankWeights[i]);
+            index %= rankWeights[i];
+            int unused = ~used;
+            for (int skip = 0; skip < nth; skip++)
+                unused &= unused - 1;
+            int symbol = Integer.numberOfTrailingZeros(unused);
+            used |= 1 << symbol;
+            packed |= (long) symbol << (4 * i);
+        }
+        return packed | ((long) used << PRESENCE_SHIFT);
+    }
+
+    /**
+     * returns the index of a code in lexicographic order
+     *
+     * @param packed A packed code
+     * @return index of code
+     */
+    public int rank(long packed) {
+        long index = 0;
+        int used = 0;
+        for (int i = 0; i < length; i++) {
+            int symbol = getSymbol(packed, i);
+            index += Integer.bitCount(~used & ((1 << symbol) - 1)) * rankWeights[i];
+            used |= 1 << symbol;
+        }
+        return (int) index;
+    }
+
+    /**
+     * returns the code after a code in lexicographic order
+     * the last position which can take a greater unused symbol takes the smallest one,
+     * the positions after it take the smallest unused symbols in ascending order
+     *
+     * @param packed A packed code
+     * @return the next packed code, or -1 if the code is the last code
+     */
+    public long next(long packed) {
+        int used = (int) (packed >>> PRESENCE_SHIFT);
+        for (int i = length - 1; i >= 0; i--) {
+            int symbol = getSymbol(packed, i);
+            used &= ~(1 << symbol);
+            int greater = ~used & ((1 << alphabetSize) - 1) & (-2 << symbol);
+            if (greater == 0) continue;
+            int nextSymbol = Integer.numberOfTrailingZeros(greater);
+            used |= 1 << nextSymbol;
+            long code = (packed & ((1L << (4 * i)) - 1)) | ((long) nextSymbol << (4 * i));
+            for (int p = i + 1; p < length; p++) {
+                int smallest = Integer.numberOfTrailingZeros(~used);
+                used |= 1 << smallest;
+                code |= (long) smallest << (4 * p);
+            }
+            return code | ((long) used << PRESENCE_SHIFT);
+        }
+        return -1;
+    }
+
+    /**
+     * streams every packed code lazily in lexicographic order
+     *
+     * @return A stream of packed codes, it can be made parallel
+     */
+    public LongStream codes() {
+        return codes(0, size);
+    }
+
+    /**
+     * streams the packed codes of a range of indices lazily in lexicographic order
+     *
+     * @param fromIndex the first index, inclusive
+     * @param toIndex   the last index, exclusive
+     * @return A stream of packed codes, it can be made parallel
+     */
+    public LongStream codes(int fromIndex, int toIndex) {
+        return StreamSupport.longStream(new CodeSpliterator(this, fromIndex, toIndex), false);
+    }
+
+    /**
+     * streams the packed codes consistent with a guess history in parallel, without materializing the code space
+     *
+     * @param history the guess history of this code space
+     * @return A parallel stream of packed codes which can still be the secret code
+     */
+    public LongStream consistentCodes(GuessHistory history) {
+        return codes().parallel().filter(history::isConsistent);
+    }
+
+    /**
+     * returns the index of a code
+     *
+     * @param code A code
+     * @return index of code, or -1 if the code is not a code of this space
+     */
+    public int indexOf(CharSequence code) {
+        long packed = pack(code);
+        return packed < 0 ? -1 : rank(packed);
+    }
+
+    /**
+     * scores bulls and cows of a guess against a secret code, both packed
+     * bulls is the number of equal nibbles, bulls plus cows the bit count of the common symbols
+     *
+     * @param guess  A packed guess
+     * @param secret A packed secret code
+     * @return packed bulls and cows
+     */
+    public int score(long guess, long secret) {
+        long different = (guess ^ secret) & positionMask;
+        different |= different >>> 1;
+        different |= different >>> 2;
+        int bulls = length - Long.bitCount(different & NIBBLE_LOW_BITS);
+        int common = Long.bitCount((guess & secret) >>> PRESENCE_SHIFT);
+        return packFeedback(bulls, common - bulls);
+    }
+
+    /**
+     * scores a guess against a batch of packed secret codes
+     * a code is a 64 bit word of nibbles and presence bits, so each score is a few SWAR word operations,
+     * and the loop has no branch or call, so the JIT unrolls it over the primitive arrays
+     *
+     * @param guess    A packed guess
+     * @param secrets  packed secret codes
+     * @param from     index of the first secret code, inclusive
+     * @param to       index of the last secret code, exclusive
+     * @param feedback the array to write the packed bulls and cows of each secret code to
+     * @param offset   index in feedback of the feedback of the first secret code
+     */
+    public void score(long guess, long[] secrets, int from, int to, byte[] feedback, int offset) {
+        long presence = guess >>> PRESENCE_SHIFT;
+        for (int i = from; i < to; i++) {
+            long secret = secrets[i];
+            long different = (guess ^ secret) & positionMask;
+            different |= different >>> 1;
+            different |= different >>> 2;
+            int bulls = length - Long.bitCount(different & NIBBLE_LOW_BITS);
+            int common = Long.bitCount(presence & (secret >>> PRESENCE_SHIFT));
+            feedback[offset + i - from] = (byte) (bulls * length + common);
+        }
+    }
+
+    /**
+     * keeps the packed codes giving a guess the feedback, moved to the front of the array in their order
+     * every code is written and the count is advanced by the comparison result, without a branch,
+     * so filtering takes the same time whatever the share of codes kept
+     *
+     * @param guess    A packed guess
+     * @param feedback packed bulls and cows the codes must give
+     * @param codes    packed codes
+     * @param count    the number of codes at the front of the array
+     * @return the number of codes kept at the front of the array
+     */
+    public int retainFeedback(long guess, int feedback, long[] codes, int count) {
+        int bulls = getBulls(feedback);
+        int common = bulls + getCows(feedback);
+        long presence = guess >>> PRESENCE_SHIFT;
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            long code = codes[i];
+            long different = (guess ^ code) & positionMask;
+            different |= different >>> 1;
+            different |= different >>> 2;
+            int codeBulls = length - Long.bitCount(different & NIBBLE_LOW_BITS);
+            int codeCommon = Long.bitCount(presence & (code >>> PRESENCE_SHIFT));
+            int mismatch = (codeBulls ^ bulls) | (codeCommon ^ common);
+            codes[kept] = code;
+            kept += (mismatch - 1) >>> 31;
+        }
+        return kept;
+    }
+
+    /**
+     * packs the number of bulls and cows into a feedback value
+     *
+     * @param bulls the number of bulls
+     * @param cows  the number of cows
+     * @return packed bulls and cows
+     */
+    public int packFeedback(int bulls, int cows) {
+        return bulls * (length + 1) + cows;
+    }
+
+    /**
+     * returns the number of bulls of packed feedback
+     *
+     * @param feedback packed bulls and cows
+     * @return the number of bulls
+     */
+    public int getBulls(int feedback) {
+        return feedback / (length + 1);
+    }
+
+    /**
+     * returns the number of cows of packed feedback
+     *
+     * @param feedback packed bulls and cows
+     * @return the number of cows
+     */
+    public int getCows(int feedback) {
+        return feedback % (length + 1);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (!(other instanceof CodeSpace)) return false;
+        CodeSpace space = (CodeSpace) other;
+        return length == space.length && alphabetSize == space.alphabetSize;
+    }
+
+    @Override
+    public int hashCode() {
+        return length * 31 + alphabetSize;
+    }
+
+    @Override
+    public String toString() {
+        return length + "x" + alphabetSize;
+    }
+
+    /**
+     * returns the symbol of a char, ignoring case
+     *
+     * @return symbol from 0 to 15, or -1 if the char is not a symbol
+     */
+    private static int toSymbol(char c) {
+        if (c >= '0' && c <= '9') return c - '0';
+        if (c >= 'A' && c <= 'F') return c - 'A' + 10;
+        if (c >= 'a' && c <= 'f') return c - 'a' + 10;
+        return -1;
+    }
+}
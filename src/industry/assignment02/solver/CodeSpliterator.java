@@ -0,0 +1,75 @@
+package industry.assignment02.solver;
+
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+
+/**
+ * A spliterator over the packed codes of a range of indices of a code space, in lexicographic order
+ * codes are enumerated lazily: the first code of a range is unranked, the following codes are stepped
+ * to with CodeSpace.next. A range splits in half by index, so it can be filtered in parallel
+ * without materializing the code space.
+ */
+final class CodeSpliterator implements Spliterator.OfLong {
+    private static final int MIN_SPLIT_SIZE = 1024;
+
+    private final CodeSpace codeSpace;
+    private long index;
+    private final long end;
+    private long code;
+
+    /**
+     * constructor of CodeSpliterator
+     *
+     * @param codeSpace the code space
+     * @param from      the first index, inclusive
+     * @param to        the last index, exclusive
+     */
+    CodeSpliterator(CodeSpace codeSpace, long from, long to) {
+        this.codeSpace = codeSpace;
+        this.index = from;
+        this.end = to;
+        this.code = from < to ? codeSpace.unrank(from) : -1;
+    }
+
+    @Override
+    public boolean tryAdvance(LongConsumer action) {
+        if (index >= end) return false;
+        action.accept(code);
+        if (++index < end)
+            code = codeSpace.next(code);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(LongConsumer action) {
+        long current = code;
+        for (long i = index; i < end; i++) {
+            action.accept(current);
+            if (i + 1 < end)
+                current = codeSpace.next(current);
+        }
+        index = end;
+    }
+
+    @Override
+    public Spliterator.OfLong trySplit() {
+        long remaining = end - index;
+        if (remaining < 2 * MIN_SPLIT_SIZE) return null;
+        long middle = index + remaining / 2;
+        CodeSpliterator prefix = new CodeSpliterator(codeSpace, index, middle);
+        prefix.code = code;
+        index = middle;
+        code = codeSpace.unrank(middle);
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return end - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | DISTINCT | NONNULL | IMMUTABLE;
+    }
+}
@@ -0,0 +1,103 @@
+package industry.assignment02.solver;
+
+/**
+ * symmetry of the remaining candidates under interchanging symbols
+ * two symbols are interchangeable if swapping them in every candidate gives the same candidates,
+ * symbols not guessed yet always are. Interchanging symbols in a probe then partitions the candidates the same,
+ * so of each class of equivalent probes only the one of the lowest index needs to be scored:
+ * the one whose symbols of each class appear first in ascending order, from the smallest of the class.
+ * Symmetry under interchanging positions is not used.
+ */
+final class DigitSymmetry {
+    private DigitSymmetry() {
+    }
+
+    /**
+     * returns the probes of the lowest index of their classes of equivalent probes
+     *
+     * @param table      the feedback table of the game
+     * @param candidates the remaining candidates
+     * @return the canonical probes, or null if no two symbols are interchangeable
+     */
+    static CandidateSet canonicalProbes(FeedbackTable table, CandidateSet candidates) {
+        CodeSpace codeSpace = table.getCodeSpace();
+        int[] smallerInClass = findSmallerInClass(codeSpace, candidates);
+        if (smallerInClass == null) return null;
+        CandidateSet probes = table.newCandidateSet();
+        long code = codeSpace.unrank(0);
+        for (int probe = 0; probe < table.size(); probe++, code = codeSpace.next(code))
+            if (!isCanonical(code, codeSpace.getLength(), smallerInClass)) probes.remove(probe);
+        return probes;
+    }
+
+    /**
+     * finds the classes of interchangeable symbols, interchangeability is an equivalence,
+     * so each symbol is tested against the smallest symbol of each class found so far
+     *
+     * @return the bitmask of the smaller symbols of the class of each symbol, or null if every class is one symbol
+     */
+    private static int[] findSmallerInClass(CodeSpace codeSpace, CandidateSet candidates) {
+        int alphabetSize = codeSpace.getAlphabetSize();
+        int[] members = candidates.toArray();
+        long[] codes = new long[members.length];
+        for (int i = 0; i < members.length; i++)
+            codes[i] = codeSpace.unrank(members[i]);
+        int[] classOf = new int[alphabetSize];
+        int[] smallerInClass = new int[alphabetSize];
+        boolean symmetric = false;
+        for (int symbol = 0; symbol < alphabetSize; symbol++) {
+            classOf[symbol] = symbol;
+            for (int smallest = 0; smallest < symbol; smallest++) {
+                if (classOf[smallest] != smallest || !isSwapInvariant(codeSpace, codes, candidates, smallest, symbol))
+                    continue;
+                classOf[symbol] = smallest;
+                for (int member = smallest; member < symbol; member++)
+                    if (classOf[member] == smallest) smallerInClass[symbol] |= 1 << member;
+                symmetric = true;
+                break;
+            }
+        }
+        return symmetric ? smallerInClass : null;
+    }
+
+    /**
+     * checks if swapping two symbols in every candidate gives a candidate, a candidate of neither symbol is unchanged
+     */
+    private static boolean isSwapInvariant(CodeSpace codeSpace, long[] codes, CandidateSet candidates, int a, int b) {
+        long presence = 1L << (CodeSpace.PRESENCE_SHIFT + a) | 1L << (CodeSpace.PRESENCE_SHIFT + b);
+        for (long code : codes) {
+            if ((code & presence) == 0) continue;
+            if (!candidates.contains(codeSpace.rank(swap(code, codeSpace.getLength(), a, b)))) return false;
+        }
+        return true;
+    }
+
+    /**
+     * swaps two symbols of a packed code
+     */
+    private static long swap(long packed, int length, int a, int b) {
+        for (int i = 0; i < length; i++) {
+            int symbol = CodeSpace.getSymbol(packed, i);
+            if (symbol != a && symbol != b) continue;
+            packed ^= (long) (a ^ b) << (4 * i);
+        }
+        long presenceA = 1L << (CodeSpace.PRESENCE_SHIFT + a);
+        long presenceB = 1L << (CodeSpace.PRESENCE_SHIFT + b);
+        if (((packed & presenceA) == 0) != ((packed & presenceB) == 0))
+            packed ^= presenceA | presenceB;
+        return packed;
+    }
+
+    /**
+     * checks if each symbol of a probe appears after the smaller symbols of its class
+     */
+    private static boolean isCanonical(long packed, int length, int[] smallerInClass) {
+        int seen = 0;
+        for (int i = 0; i < length; i++) {
+            int symbol = CodeSpace.getSymbol(packed, i);
+            if ((smallerInClass[symbol] & ~seen) != 0) return false;
+            seen |= 1 << symbol;
+        }
+        return true;
+    }
+}
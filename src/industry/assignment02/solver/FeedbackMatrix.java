@@ -0,0 +1,41 @@
+package industry.assignment02.solver;
+
+/**
+ * A matrix of the feedback of every guess against every secret of a game
+ * guesses and secrets are addressed by their index, feedback is a number from 0 to getFeedbackCount() - 1
+ */
+public interface FeedbackMatrix {
+    /**
+     * returns the number of guesses and secrets
+     *
+     * @return the number of codes
+     */
+    int size();
+
+    /**
+     * returns the number of different feedback values
+     *
+     * @return the number of feedback values
+     */
+    int getFeedbackCount();
+
+    /**
+     * returns the feedback of guessing the secret with the guess
+     *
+     * @param guess  index of guess
+     * @param secret index of secret
+     * @return feedback from 0 to getFeedbackCount() - 1
+     */
+    int getFeedback(int guess, int secret);
+
+    /**
+     * returns the probes worth scoring against the candidates,
+     * every other probe partitions the candidates the same as one of them of a lower index
+     *
+     * @param candidates the remaining candidates
+     * @return the probes to score, or null to score every probe
+     */
+    default CandidateSet canonicalProbes(CandidateSet candidates) {
+        return null;
+    }
+}
@@ -0,0 +1,143 @@
+package industry.assignment02.solver;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A precomputed bulls and cows feedback table over every code of a small code space
+ * codes are addressed by their index, feedback of a (guess, secret) pair is a single byte lookup
+ * the table is built once and shared by the whole process, and saved in the table cache for the next start
+ */
+public final class FeedbackTable implements FeedbackMatrix {
+    public static final int MAX_CODES = 8192;
+    private static final String CACHE_NAME = "bulls-and-cows-feedback-";
+    private static final ConcurrentMap<CodeSpace, FeedbackTable> SHARED = new ConcurrentHashMap<>();
+
+    private final CodeSpace codeSpace;
+    private final String[] codes;
+    private final CandidateSet allCodes;
+    private final byte[] feedback;
+
+    private FeedbackTable(CodeSpace codeSpace) {
+        this.codeSpace = codeSpace;
+        codes = new String[codeSpace.size()];
+        for (int i = 0; i < codes.length; i++)
+            codes[i] = codeSpace.toString(codeSpace.unrank(i));
+        allCodes = CandidateSet.full(codes.length);
+        feedback = TableCache.getDefault().load(CACHE_NAME + codeSpace,
+                (long) codeSpace.getLength() << 32 | codeSpace.getAlphabetSize(),
+                codes.length * codes.length, this::buildFeedback);
+    }
+
+    /**
+     * returns the shared table of the default code space, builds it on first use
+     *
+     * @return the shared feedback table
+     */
+    public static FeedbackTable getInstance() {
+        return of(CodeSpace.DEFAULT);
+    }
+
+    /**
+     * returns the shared table of a code space, builds it on first use
+     *
+     * @param codeSpace A code space of at most MAX_CODES codes
+     * @return the shared feedback table
+     */
+    public static FeedbackTable of(CodeSpace codeSpace) {
+        if (!isSupported(codeSpace))
+            throw new IllegalArgumentException("Code space " + codeSpace + " is too large for a feedback table!");
+        return SHARED.computeIfAbsent(codeSpace, FeedbackTable::new);
+    }
+
+    /**
+     * checks if a code space is small enough for a feedback table
+     *
+     * @param codeSpace A code space
+     * @return can the code space have a table
+     */
+    public static boolean isSupported(CodeSpace codeSpace) {
+        return codeSpace.size() <= MAX_CODES;
+    }
+
+    /**
+     * returns the code space of the table
+     *
+     * @return codeSpace
+     */
+    public CodeSpace getCodeSpace() {
+        return codeSpace;
+    }
+
+    @Override
+    public int size() {
+        return codes.length;
+    }
+
+    /**
+     * returns a new candidate set of all codes, copied from an immutable template
+     *
+     * @return A full candidate set
+     */
+    public CandidateSet newCandidateSet() {
+        return allCodes.copy();
+    }
+
+    /**
+     * returns the code at the index
+     *
+     * @param index index of code
+     * @return A code
+     */
+    public String getCode(int index) {
+        return codes[index];
+    }
+
+    /**
+     * returns the index of a code
+     *
+     * @param code A code
+     * @return index of code, or -1 if code is not a valid code
+     */
+    public int indexOf(String code) {
+        return codeSpace.indexOf(code);
+    }
+
+    @Override
+    public int getFeedbackCount() {
+        return codeSpace.getFeedbackCount();
+    }
+
+    @Override
+    public int getFeedback(int guess, int secret) {
+        return feedback[guess * codes.length + secret];
+    }
+
+    /**
+     * returns the probes of the lowest index of their classes of probes equivalent by interchanging symbols
+     * before the first guess every probe is equivalent to the first code,
+     * so the early turns score a small fraction of the probes
+     *
+     * @param candidates the remaining candidates
+     * @return the canonical probes, or null if no two symbols are interchangeable
+     */
+    @Override
+    public CandidateSet canonicalProbes(CandidateSet candidates) {
+        return DigitSymmetry.canonicalProbes(this, candidates);
+    }
+
+    /**
+     * scores every guess against every secret code, a row of the table per batch
+     *
+     * @return packed bulls and cows of each pair
+     */
+    private byte[] buildFeedback() {
+        long[] packed = new long[codes.length];
+        for (int i = 0; i < packed.length; i++)
+            packed[i] = codeSpace.unrank(i);
+        byte[] table = new byte[codes.length * codes.length];
+        for (int guess = 0; guess < codes.length; guess++)
+            codeSpace.score(packed[guess], packed, 0, packed.length, table, guess * codes.length);
+        return table;
+    }
+}
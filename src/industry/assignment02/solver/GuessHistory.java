@@ -0,0 +1,76 @@
+package industry.assignment02.solver;
+
+import industry.assignment02.game.Result;
+
+import java.util.List;
+
+/**
+ * The packed guesses and feedback of a list of guess results
+ * a code is consistent with the history when it gives every guess the same feedback,
+ * so it can still be the secret code
+ */
+public final class GuessHistory {
+    private final CodeSpace codeSpace;
+    private final long[] guesses;
+    private final int[] feedbacks;
+
+    private GuessHistory(CodeSpace codeSpace, long[] guesses, int[] feedbacks) {
+        this.codeSpace = codeSpace;
+        this.guesses = guesses;
+        this.feedbacks = feedbacks;
+    }
+
+    /**
+     * packs the guess results of a code space
+     *
+     * @param codeSpace the code space of the guesses
+     * @param results   guess results
+     * @return A history of the results
+     */
+    public static GuessHistory of(CodeSpace codeSpace, List<Result> results) {
+        long[] guesses = new long[results.size()];
+        int[] feedbacks = new int[results.size()];
+        for (int i = 0; i < guesses.length; i++) {
+            Result result = results.get(i);
+            guesses[i] = codeSpace.pack(result.getGuess());
+            feedbacks[i] = codeSpace.packFeedback(result.getBulls(), result.getCows());
+        }
+        return new GuessHistory(codeSpace, guesses, feedbacks);
+    }
+
+    /**
+     * returns the number of guesses
+     *
+     * @return the number of guesses
+     */
+    public int size() {
+        return guesses.length;
+    }
+
+    /**
+     * checks if a code gives every guess of the history the same feedback, latest guess first
+     *
+     * @param code A packed code
+     * @return is the code consistent with the history
+     */
+    public boolean isConsistent(long code) {
+        for (int i = guesses.length - 1; i >= 0; i--) {
+            if (codeSpace.score(guesses[i], code) != feedbacks[i]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * keeps the packed codes consistent with the history, moved to the front of the array in their order
+     * the codes are filtered in batches by each guess, latest guess first, see CodeSpace.retainFeedback
+     *
+     * @param codes packed codes
+     * @param count the number of codes at the front of the array
+     * @return the number of consistent codes at the front of the array
+     */
+    public int retainConsistent(long[] codes, int count) {
+        for (int i = guesses.length - 1; i >= 0 && count > 0; i--)
+            count = codeSpace.retainFeedback(guesses[i], feedbacks[i], codes, count);
+        return count;
+    }
+}
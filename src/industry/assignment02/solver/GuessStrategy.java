@@ -0,0 +1,44 @@
+package industry.assignment02.solver;
+
+import java.util.SplittableRandom;
+
+/**
+ * A strategy to select the next guess from the remaining candidates of a feedback matrix
+ */
+public interface GuessStrategy {
+    /**
+     * selects the next guess
+     *
+     * @param matrix     the feedback matrix of the game
+     * @param candidates the remaining candidates
+     * @return index of the next guess
+     */
+    int selectGuess(FeedbackMatrix matrix, CandidateSet candidates);
+
+    /**
+     * selects the next guess within a time budget
+     * an anytime strategy returns the best guess found so far when the deadline passes,
+     * a strategy which is always fast ignores the deadline.
+     * Random choices of the search are drawn from the random generator of the caller,
+     * so a seeded computer makes the same choices.
+     *
+     * @param matrix     the feedback matrix of the game
+     * @param candidates the remaining candidates
+     * @param deadline   the System.nanoTime by which the guess is selected
+     * @param random     the random generator of the search
+     * @return index of the next guess
+     */
+    default int selectGuess(FeedbackMatrix matrix, CandidateSet candidates, long deadline, SplittableRandom random) {
+        return selectGuess(matrix, candidates);
+    }
+
+    /**
+     * returns a stable name of the strategy if it always selects the same guess for the same candidates,
+     * so its guesses can be compiled into an opening book
+     *
+     * @return name of the strategy, or null if the strategy is not deterministic
+     */
+    default String getName() {
+        return null;
+    }
+}
@@ -0,0 +1,167 @@
+package industry.assignment02.solver;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A compiled decision tree of the guesses a deterministic strategy makes for every history of feedback
+ * the root node holds the first guess, the child of a node for a feedback holds the next guess
+ * after that feedback. Nodes are stored in flat arrays, so following a history is one array lookup per turn.
+ * Books of Bulls and Cows feedback tables are shared by the whole process and saved in the table cache.
+ */
+public final class OpeningBook {
+    public static final int ROOT = 0;
+    public static final int DEFAULT_DEPTH = 7;
+    private static final String CACHE_NAME = "opening-book-";
+    /**
+     * version of the guesses strategies select, bumped whenever a change to a strategy can change its guesses,
+     * so books compiled by an older version are compiled again instead of being reused
+     */
+    private static final int ALGORITHM_VERSION = 2;
+    private static final ConcurrentMap<String, OpeningBook> SHARED = new ConcurrentHashMap<>();
+
+    private final int feedbackCount;
+    private int[] guesses;
+    private int[] children;
+    private int nodeCount;
+
+    private OpeningBook(int feedbackCount, int[] guesses, int[] children, int nodeCount) {
+        this.feedbackCount = feedbackCount;
+        this.guesses = guesses;
+        this.children = children;
+        this.nodeCount = nodeCount;
+    }
+
+    /**
+     * returns the shared book of a strategy for a Bulls and Cows feedback table,
+     * loads it from the table cache or compiles it on first use
+     *
+     * @param table    A feedback table
+     * @param strategy A guess strategy
+     * @return the book of the strategy, or null if the strategy is not deterministic
+     */
+    public static OpeningBook of(FeedbackTable table, GuessStrategy strategy) {
+        String name = strategy.getName();
+        if (name == null) return null;
+        return SHARED.computeIfAbsent(name + "-" + table.getCodeSpace(), key -> {
+            byte[] bytes = TableCache.getDefault().load(CACHE_NAME + key,
+                    (long) ALGORITHM_VERSION << 48 | (long) DEFAULT_DEPTH << 32 | table.size(), -1,
+                    () -> compile(table, strategy, DEFAULT_DEPTH).toBytes());
+            return fromBytes(bytes);
+        });
+    }
+
+    /**
+     * compiles the guesses of a strategy for every history of feedback up to a number of turns
+     *
+     * @param matrix   the feedback matrix of the game
+     * @param strategy A deterministic guess strategy
+     * @param depth    the number of turns the book covers
+     * @return A new book
+     */
+    public static OpeningBook compile(FeedbackMatrix matrix, GuessStrategy strategy, int depth) {
+        int feedbackCount = matrix.getFeedbackCount();
+        OpeningBook book = new OpeningBook(feedbackCount, new int[64], new int[64 * feedbackCount], 0);
+        book.compileNode(matrix, strategy, CandidateSet.full(matrix.size()), depth);
+        book.guesses = Arrays.copyOf(book.guesses, book.nodeCount);
+        book.children = Arrays.copyOf(book.children, book.nodeCount * feedbackCount);
+        return book;
+    }
+
+    /**
+     * returns the guess of a node
+     *
+     * @param node A node of the book
+     * @return index of guess
+     */
+    public int getGuess(int node) {
+        return guesses[node];
+    }
+
+    /**
+     * returns the node after the guess of a node gets a feedback
+     *
+     * @param node     A node of the book
+     * @param feedback the feedback of the guess of the node
+     * @return the child node, or -1 if the book does not cover it
+     */
+    public int getChild(int node, int feedback) {
+        return children[node * feedbackCount + feedback];
+    }
+
+    /**
+     * returns the number of nodes
+     *
+     * @return the number of nodes
+     */
+    public int size() {
+        return nodeCount;
+    }
+
+    /**
+     * adds a node for the candidates, then its children for every feedback which leaves candidates
+     *
+     * @return the new node
+     */
+    private int compileNode(FeedbackMatrix matrix, GuessStrategy strategy, CandidateSet candidates, int depth) {
+        int node = addNode(strategy.selectGuess(matrix, candidates));
+        if (depth <= 1 || candidates.size() <= 1) return node;
+        int guess = guesses[node];
+        int solved = matrix.getFeedback(guess, guess);
+        boolean[] hasPartition = new boolean[feedbackCount];
+        for (int candidate = candidates.next(0); candidate >= 0; candidate = candidates.next(candidate + 1))
+            hasPartition[matrix.getFeedback(guess, candidate)] = true;
+        for (int feedback = 0; feedback < feedbackCount; feedback++) {
+            if (!hasPartition[feedback] || feedback == solved) continue;
+            CandidateSet partition = candidates.copy();
+            partition.retainFeedback(matrix, guess, feedback);
+            int child = compileNode(matrix, strategy, partition, depth - 1);
+            children[node * feedbackCount + feedback] = child;
+        }
+        return node;
+    }
+
+    /**
+     * adds a node without children
+     *
+     * @return the new node
+     */
+    private int addNode(int guess) {
+        if (nodeCount == guesses.length) {
+            guesses = Arrays.copyOf(guesses, nodeCount * 2);
+            children = Arrays.copyOf(children, nodeCount * 2 * feedbackCount);
+        }
+        guesses[nodeCount] = guess;
+        Arrays.fill(children, nodeCount * feedbackCount, (nodeCount + 1) * feedbackCount, -1);
+        return nodeCount++;
+    }
+
+    /**
+     * serializes the book for the table cache
+     *
+     * @return the bytes of the book
+     */
+    private byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(8 + 4 * (guesses.length + children.length));
+        buffer.putInt(feedbackCount).putInt(nodeCount);
+        buffer.asIntBuffer().put(guesses).put(children);
+        return buffer.array();
+    }
+
+    /**
+     * deserializes a book from the table cache
+     *
+     * @return the book
+     */
+    private static OpeningBook fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int feedbackCount = buffer.getInt();
+        int nodeCount = buffer.getInt();
+        int[] guesses = new int[nodeCount];
+        int[] children = new int[nodeCount * feedbackCount];
+        buffer.asIntBuffer().get(guesses).get(children);
+        return new OpeningBook(feedbackCount, guesses, children, nodeCount);
+    }
+}
@@ -0,0 +1,226 @@
+package industry.assignment02.solver;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * selects the guess which best partitions the remaining candidates by feedback
+ * every code of the feedback matrix is scored as a probe against the remaining candidates,
+ * probes are scored in parallel with fork/join.
+ * ties are broken in favour of a remaining candidate, then the lowest index, so the choice is deterministic
+ * Scored against every remaining candidate, only the canonical probes of the feedback matrix are scored,
+ * every other probe scores the same as a canonical probe of a lower index, so the choice is the same
+ * as scoring every probe. Scored against a sample, every probe is scored,
+ * as the symmetry of the remaining candidates is not a symmetry of the sample.
+ * Within a time budget the search is anytime: a random remaining candidate, then a random sample of probes,
+ * then every probe, the best probe so far is returned when the deadline passes.
+ */
+public class PartitionGuessStrategy implements GuessStrategy {
+    private static final int PROBES_PER_TASK = 128;
+    private static final int SAMPLED_PROBES = 256;
+    private static final int PROBES_PER_DEADLINE_CHECK = 16;
+
+    private final PartitionScore partitionScore;
+    private final ForkJoinPool pool;
+
+    /**
+     * constructor of PartitionGuessStrategy, scores probes in the common fork/join pool
+     *
+     * @param partitionScore the way to score a partition
+     */
+    public PartitionGuessStrategy(PartitionScore partitionScore) {
+        this(partitionScore, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * constructor of PartitionGuessStrategy
+     *
+     * @param partitionScore the way to score a partition
+     * @param pool           the fork/join pool to score probes in
+     */
+    public PartitionGuessStrategy(PartitionScore partitionScore, ForkJoinPool pool) {
+        this.partitionScore = partitionScore;
+        this.pool = pool;
+    }
+
+    /**
+     * returns the way to score a partition
+     *
+     * @return partitionScore
+     */
+    public PartitionScore getPartitionScore() {
+        return partitionScore;
+    }
+
+    @Override
+    public String getName() {
+        return partitionScore.name().toLowerCase();
+    }
+
+    @Override
+    public int selectGuess(FeedbackMatrix matrix, CandidateSet candidates) {
+        return selectGuess(matrix, candidates, null, 0, null);
+    }
+
+    /**
+     * selects the next guess within a time budget, improving the best probe found in three stages:
+     * a random remaining candidate, minimax over a random sample of probes, then every probe in parallel.
+     * With a budget long enough for every probe, the guess is the same as without a budget.
+     *
+     * @param matrix     the feedback matrix of the game
+     * @param candidates the remaining candidates
+     * @param deadline   the System.nanoTime by which the guess is selected
+     * @param random     the random generator of the random candidate and the sample of probes
+     * @return index of the best guess found by the deadline
+     */
+    @Override
+    public int selectGuess(FeedbackMatrix matrix, CandidateSet candidates, long deadline, SplittableRandom random) {
+        return selectGuess(matrix, candidates, null, deadline, random);
+    }
+
+    /**
+     * selects the next guess, probes are scored against the scored candidates only
+     * a sampling strategy scores against a sample of the remaining candidates,
+     * ties are still broken in favour of any remaining candidate
+     *
+     * @param matrix           the feedback matrix of the game
+     * @param candidates       the remaining candidates
+     * @param scoredCandidates the candidates to score probes against, or null for every remaining candidate
+     * @param deadline         the System.nanoTime by which the guess is selected, if timed
+     * @param random           the random generator of a selection within a time budget, or null if not timed
+     * @return index of the next guess
+     */
+    int selectGuess(FeedbackMatrix matrix, CandidateSet candidates, int[] scoredCandidates, long deadline,
+                    SplittableRandom random) {
+        if (candidates.size() == 0)
+            throw new IllegalArgumentException("There is no candidate to select a guess from!");
+        if (candidates.size() <= 2)
+            return candidates.next(0);
+        int[] candidateArray = scoredCandidates != null ? scoredCandidates : candidates.toArray();
+        CandidateSet probes = scoredCandidates == null ? matrix.canonicalProbes(candidates) : null;
+        if (random == null)
+            return pool.invoke(new ProbeTask(matrix, candidates, candidateArray, probes, 0, matrix.size(), 0, false))
+                    .probe;
+        int[] partitionSizes = new int[matrix.getFeedbackCount()];
+        Probe best = scoreProbe(matrix, candidates, candidateArray,
+                candidateArray[random.nextInt(candidateArray.length)], partitionSizes);
+        for (int n = 0; n < SAMPLED_PROBES && !isPast(deadline); n++)
+            best = better(best, scoreProbe(matrix, candidates, candidateArray, random.nextInt(matrix.size()),
+                    partitionSizes));
+        if (isPast(deadline))
+            return best.probe;
+        return better(best, pool.invoke(new ProbeTask(matrix, candidates, candidateArray, probes, 0, matrix.size(),
+                deadline, true))).probe;
+    }
+
+    /**
+     * scores a probe by the partition of the candidates by its feedback
+     *
+     * @param partitionSizes the array to count the partition sizes in, cleared first
+     * @return the scored probe
+     */
+    private Probe scoreProbe(FeedbackMatrix matrix, CandidateSet candidateSet, int[] candidates, int probe,
+                             int[] partitionSizes) {
+        Arrays.fill(partitionSizes, 0);
+        for (int candidate : candidates)
+            partitionSizes[matrix.getFeedback(probe, candidate)]++;
+        return new Probe(probe, partitionScore.score(partitionSizes, candidates.length), candidateSet.contains(probe));
+    }
+
+    /**
+     * checks if the deadline has passed
+     *
+     * @param deadline A System.nanoTime
+     * @return is it past the deadline
+     */
+    private static boolean isPast(long deadline) {
+        return System.nanoTime() - deadline >= 0;
+    }
+
+    /**
+     * returns the better of two probes
+     *
+     * @param best  the best probe so far
+     * @param other another probe, or null if none is scored
+     * @return the better probe
+     */
+    private static Probe better(Probe best, Probe other) {
+        return other != null && other.isBetterThan(best) ? other : best;
+    }
+
+    /**
+     * the best probe found in a range of probes
+     */
+    private static final class Probe {
+        private final int probe;
+        private final double score;
+        private final boolean candidate;
+
+        private Probe(int probe, double score, boolean candidate) {
+            this.probe = probe;
+            this.score = score;
+            this.candidate = candidate;
+        }
+
+        private boolean isBetterThan(Probe other) {
+            if (other == null || score != other.score)
+                return other == null || score < other.score;
+            if (candidate != other.candidate)
+                return candidate;
+            return probe < other.probe;
+        }
+    }
+
+    /**
+     * scores a range of probes, splits the range until it is small enough
+     * only the probes of the probe set are scored, if there is one,
+     * a timed task stops scoring when the deadline passes and returns the best probe so far, or null if none
+     */
+    private final class ProbeTask extends RecursiveTask<Probe> {
+        private static final long serialVersionUID = 1L;
+        private final FeedbackMatrix matrix;
+        private final CandidateSet candidateSet;
+        private final int[] candidates;
+        private final CandidateSet probes;
+        private final int from;
+        private final int to;
+        private final long deadline;
+        private final boolean timed;
+
+        private ProbeTask(FeedbackMatrix matrix, CandidateSet candidateSet, int[] candidates, CandidateSet probes,
+                          int from, int to, long deadline, boolean timed) {
+            this.matrix = matrix;
+            this.candidateSet = candidateSet;
+            this.candidates = candidates;
+            this.probes = probes;
+            this.from = from;
+            this.to = to;
+            this.deadline = deadline;
+            this.timed = timed;
+        }
+
+        @Override
+        protected Probe compute() {
+            if (to - from > PROBES_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                ProbeTask left = new ProbeTask(matrix, candidateSet, candidates, probes, from, middle, deadline, timed);
+                left.fork();
+                Probe right = new ProbeTask(matrix, candidateSet, candidates, probes, middle, to, deadline, timed)
+                        .compute();
+                return better(left.join(), right);
+            }
+            int[] partitionSizes = new int[matrix.getFeedbackCount()];
+            Probe best = null;
+            for (int probe = from; probe < to; probe++) {
+                if (timed && (probe - from) % PROBES_PER_DEADLINE_CHECK == 0 && isPast(deadline))
+                    break;
+                if (probes != null && !probes.contains(probe))
+                    continue;
+                best = better(best, scoreProbe(matrix, candidateSet, candidates, probe, partitionSizes));
+            }
+            return best;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package industry.assignment02.solver;
+
+/**
+ * enumeration of the ways to score how a guess partitions the remaining candidates by feedback
+ * a lower score is a better guess
+ */
+public enum PartitionScore {
+    /**
+     * Knuth's minimax: the size of the largest partition
+     */
+    MINIMAX {
+        @Override
+        public double score(int[] partitionSizes, int candidateCount) {
+            int largest = 0;
+            for (int size : partitionSizes)
+                largest = Math.max(largest, size);
+            return largest;
+        }
+    },
+    /**
+     * the expected size of the partition holding the secret code
+     */
+    EXPECTED_SIZE {
+        @Override
+        public double score(int[] partitionSizes, int candidateCount) {
+            long sumOfSquares = 0;
+            for (int size : partitionSizes)
+                sumOfSquares += (long) size * size;
+            return (double) sumOfSquares / candidateCount;
+        }
+    },
+    /**
+     * the negative information entropy of the feedback
+     */
+    MAX_ENTROPY {
+        @Override
+        public double score(int[] partitionSizes, int candidateCount) {
+            double entropy = 0;
+            for (int size : partitionSizes) {
+                if (size == 0) continue;
+                double p = (double) size / candidateCount;
+                entropy -= p * Math.log(p);
+            }
+            return -entropy;
+        }
+    };
+
+    /**
+     * scores the partition of candidates by a guess
+     *
+     * @param partitionSizes the number of candidates for each feedback
+     * @param candidateCount the number of candidates
+     * @return score of the guess, lower is better
+     */
+    public abstract double score(int[] partitionSizes, int candidateCount);
+}
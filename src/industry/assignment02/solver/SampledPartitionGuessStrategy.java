@@ -0,0 +1,198 @@
+package industry.assignment02.solver;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * selects the guess which best partitions a random sample of the remaining candidates by feedback
+ * scoring every probe against every remaining candidate takes time growing with the square of the code space,
+ * scoring against a sample of fixed size takes time growing with the code space only,
+ * so guess quality degrades gracefully instead of latency exploding on large code spaces.
+ * The sample is drawn by a generator seeded with the remaining candidates, so the choice is deterministic.
+ * Probes are scored in parallel by a PartitionGuessStrategy.
+ */
+public class SampledPartitionGuessStrategy implements GuessStrategy {
+    public static final double DEFAULT_CONFIDENCE = 0.95;
+    public static final double DEFAULT_MARGIN = 0.05;
+    public static final int DEFAULT_SAMPLE_SIZE = sampleSizeFor(DEFAULT_CONFIDENCE, DEFAULT_MARGIN);
+    private static final long SEED_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final PartitionGuessStrategy exactStrategy;
+    private final int sampleSize;
+
+    /**
+     * Constructor of SampledPartitionGuessStrategy, samples to estimate partition sizes within 5% at 95% confidence
+     * and scores probes in the common fork/join pool
+     *
+     * @param partitionScore the way to score a partition
+     */
+    public SampledPartitionGuessStrategy(PartitionScore partitionScore) {
+        this(partitionScore, DEFAULT_SAMPLE_SIZE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor of SampledPartitionGuessStrategy
+     *
+     * @param partitionScore the way to score a partition
+     * @param sampleSize     the number of remaining candidates to score probes against
+     * @param pool           the fork/join pool to score probes in
+     */
+    public SampledPartitionGuessStrategy(PartitionScore partitionScore, int sampleSize, ForkJoinPool pool) {
+        if (sampleSize < 1)
+            throw new IllegalArgumentException("The sample size must be at least 1!");
+        this.exactStrategy = new PartitionGuessStrategy(partitionScore, pool);
+        this.sampleSize = sampleSize;
+    }
+
+    /**
+     * creates a strategy sampling enough candidates to estimate the share of each partition
+     * within the margin of error at the confidence level
+     *
+     * @param partitionScore the way to score a partition
+     * @param confidence     the confidence level, between 0 and 1 exclusive, such as 0.95
+     * @param margin         the margin of error of a partition share, between 0 and 1 exclusive, such as 0.05
+     * @return A sampling strategy
+     */
+    public static SampledPartitionGuessStrategy withConfidence(PartitionScore partitionScore, double confidence,
+                                                               double margin) {
+        return new SampledPartitionGuessStrategy(partitionScore, sampleSizeFor(confidence, margin),
+                ForkJoinPool.commonPool());
+    }
+
+    /**
+     * returns the sample size estimating a proportion within the margin of error at the confidence level,
+     * z^2 / (4 * margin^2) for the worst case proportion of one half
+     *
+     * @param confidence the confidence level, between 0 and 1 exclusive
+     * @param margin     the margin of error, between 0 and 1 exclusive
+     * @return sample size
+     */
+    public static int sampleSizeFor(double confidence, double margin) {
+        if (!(confidence > 0 && confidence < 1))
+            throw new IllegalArgumentException("The confidence must be between 0 and 1!");
+        if (!(margin > 0 && margin < 1))
+            throw new IllegalArgumentException("The margin of error must be between 0 and 1!");
+        double z = normalQuantile((1 + confidence) / 2);
+        return (int) Math.ceil(z * z / (4 * margin * margin));
+    }
+
+    /**
+     * returns the quantile of the standard normal distribution, accurate to 4.5e-4
+     * by the rational approximation 26.2.23 of Abramowitz and Stegun
+     *
+     * @param p A probability, between 0 and 1 exclusive
+     * @return the quantile of p
+     */
+    private static double normalQuantile(double p) {
+        double tail = Math.min(p, 1 - p);
+        double t = Math.sqrt(-2 * Math.log(tail));
+        double x = t - (2.515517 + 0.802853 * t + 0.010328 * t * t)
+                / (1 + 1.432788 * t + 0.189269 * t * t + 0.001308 * t * t * t);
+        return p < 0.5 ? -x : x;
+    }
+
+    /**
+     * returns the number of remaining candidates probes are scored against
+     *
+     * @return sampleSize
+     */
+    public int getSampleSize() {
+        return sampleSize;
+    }
+
+    @Override
+    public String getName() {
+        return exactStrategy.getName() + "-sampled-" + sampleSize;
+    }
+
+    @Override
+    public int selectGuess(FeedbackMatrix matrix, CandidateSet candidates) {
+        return exactStrategy.selectGuess(matrix, candidates, sample(candidates), 0, null);
+    }
+
+    @Override
+    public int selectGuess(FeedbackMatrix matrix, CandidateSet candidates, long deadline, SplittableRandom random) {
+        return exactStrategy.selectGuess(matrix, candidates, sample(candidates), deadline, random);
+    }
+
+    /**
+     * selects the next guess of a code space too large for a feedback table from remaining candidates drawn
+     * from it, every drawn candidate is a probe scored against a sample of them
+     *
+     * @param codeSpace  the code space of the game
+     * @param candidates packed codes of remaining candidates
+     * @return packed code of the next guess
+     */
+    public long selectCode(CodeSpace codeSpace, long[] candidates) {
+        return select(codeSpace, candidates, 0, null);
+    }
+
+    /**
+     * selects the next guess of a code space too large for a feedback table within a time budget
+     *
+     * @param codeSpace  the code space of the game
+     * @param candidates packed codes of remaining candidates
+     * @param deadline   the System.nanoTime by which the guess is selected
+     * @param random     the random generator of the search
+     * @return packed code of the best guess found by the deadline
+     */
+    public long selectCode(CodeSpace codeSpace, long[] candidates, long deadline, SplittableRandom random) {
+        return select(codeSpace, candidates, deadline, random);
+    }
+
+    private long select(CodeSpace codeSpace, long[] candidates, long deadline, SplittableRandom random) {
+        if (candidates.length == 0)
+            throw new IllegalArgumentException("There is no candidate to select a guess from!");
+        CandidateSet all = CandidateSet.full(candidates.length);
+        return candidates[exactStrategy.selectGuess(new CodeMatrix(codeSpace, candidates), all, sample(all),
+                deadline, random)];
+    }
+
+    /**
+     * draws a sample of the candidates without replacement by a partial Fisher–Yates shuffle
+     *
+     * @param candidates the remaining candidates
+     * @return the sampled candidates, or null if there are not more candidates than the sample size
+     */
+    private int[] sample(CandidateSet candidates) {
+        if (candidates.size() <= sampleSize) return null;
+        int[] all = candidates.toArray();
+        SplittableRandom random = new SplittableRandom(Arrays.hashCode(all) * SEED_GAMMA + all.length);
+        for (int i = 0; i < sampleSize; i++) {
+            int j = i + random.nextInt(all.length - i);
+            int candidate = all[j];
+            all[j] = all[i];
+            all[i] = candidate;
+        }
+        return Arrays.copyOf(all, sampleSize);
+    }
+
+    /**
+     * the feedback matrix of a few packed codes of a code space, scored on demand
+     */
+    private static final class CodeMatrix implements FeedbackMatrix {
+        private final CodeSpace codeSpace;
+        private final long[] codes;
+
+        private CodeMatrix(CodeSpace codeSpace, long[] codes) {
+            this.codeSpace = codeSpace;
+            this.codes = codes;
+        }
+
+        @Override
+        public int size() {
+            return codes.length;
+        }
+
+        @Override
+        public int getFeedbackCount() {
+            return codeSpace.getFeedbackCount();
+        }
+
+        @Override
+        public int getFeedback(int guess, int secret) {
+            return codeSpace.score(codes[guess], codes[secret]);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package industry.assignment02.solver;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+/**
+ * A versioned binary cache of precomputed solver tables, one file per table in a directory
+ * by default the directory is the directory of the system property bullsandcows.cache.dir,
+ * or bulls-and-cows in the temporary directory, so tables of many megabytes stay out of the working directory.
+ * A file holds a header and the table bytes:
+ * magic, format version, table name, parameters, table length and CRC32 checksum of the table.
+ * The header is read first, then the table is read straight into its array with no mapping of the file.
+ * When a file is missing, of another format version, built with other parameters or corrupt,
+ * the table is built again and the file is rewritten.
+ */
+public final class TableCache {
+    public static final String FILE_EXTENSION = ".table";
+    private static final int MAGIC = 0x42435443;
+    private static final int FORMAT_VERSION = 1;
+    public static final String DIRECTORY_PROPERTY = "bullsandcows.cache.dir";
+    private static final TableCache DEFAULT = new TableCache(defaultDirectory());
+
+    private final Path directory;
+
+    /**
+     * constructor of TableCache
+     *
+     * @param directory the directory of table files
+     */
+    public TableCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * returns the cache in the configured cache directory
+     *
+     * @return the default cache
+     */
+    public static TableCache getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * returns the directory of the system property bullsandcows.cache.dir,
+     * or bulls-and-cows in the temporary directory if it is not set
+     */
+    private static Path defaultDirectory() {
+        String directory = System.getProperty(DIRECTORY_PROPERTY);
+        if (directory != null && !directory.isBlank())
+            return Paths.get(directory);
+        return Paths.get(System.getProperty("java.io.tmpdir"), "bulls-and-cows");
+    }
+
+    /**
+     * loads a table from its file, or builds it and saves it when the file is not valid
+     *
+     * @param name       name of table, also the name of its file
+     * @param parameters fingerprint of everything the table is built from
+     * @param length     the number of bytes of the table, or -1 if it is only known after building
+     * @param builder    builds the table
+     * @return the table
+     */
+    public byte[] load(String name, long parameters, int length, Supplier<byte[]> builder) {
+        Path file = directory.resolve(name + FILE_EXTENSION);
+        byte[] table = read(file, name, parameters, length);
+        if (table != null)
+            return table;
+        table = builder.get();
+        write(file, name, parameters, table);
+        return table;
+    }
+
+    /**
+     * reads a table file, validating its header and checksum
+     *
+     * @return the table, or null if the file is missing or not valid
+     */
+    private byte[] read(Path file, String name, long parameters, int length) {
+        if (!Files.isRegularFile(file)) return null;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            long fileSize = Files.size(file);
+            if (fileSize < 8 || in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION)
+                return null;
+            byte[] storedName = new byte[in.readShort()];
+            in.readFully(storedName);
+            if (!name.equals(new String(storedName, StandardCharsets.UTF_8)) || in.readLong() != parameters)
+                return null;
+            int storedLength = in.readInt();
+            if (length >= 0 && storedLength != length)
+                return null;
+            long checksum = in.readLong();
+            long headerSize = 4 + 4 + 2 + storedName.length + 8 + 4 + 8;
+            if (storedLength < 0 || fileSize - headerSize != storedLength)
+                return null;
+            byte[] table = new byte[storedLength];
+            in.readFully(table);
+            return checksum(table) == checksum ? table : null;
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * writes a table file to a temporary file, then moves it in place
+     * the cache is only an optimization, so a table which cannot be saved is built again next time
+     */
+    private void write(Path file, String name, long parameters, byte[] table) {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer header = ByteBuffer.allocate(4 + 4 + 2 + nameBytes.length + 8 + 4 + 8);
+        header.putInt(MAGIC).putInt(FORMAT_VERSION).putShort((short) nameBytes.length).put(nameBytes)
+                .putLong(parameters).putInt(table.length).putLong(checksum(table)).flip();
+        Path temporary = null;
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            temporary = Files.createTempFile(file.toAbsolutePath().getParent(), name, ".tmp");
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                ByteBuffer body = ByteBuffer.wrap(table);
+                while (header.hasRemaining() || body.hasRemaining())
+                    channel.write(new ByteBuffer[]{header, body});
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            try {
+                if (temporary != null) Files.deleteIfExists(temporary);
+            } catch (IOException ignored) {
+                // the temporary file is left behind, the table is still usable
+            }
+        }
+    }
+
+    /**
+     * returns the CRC32 checksum of a table
+     */
+    private static long checksum(byte[] table) {
+        CRC32 crc = new CRC32();
+        crc.update(table, 0, table.length);
+        return crc.getValue();
+    }
+}
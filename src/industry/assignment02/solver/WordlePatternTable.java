@@ -0,0 +1,107 @@
+package industry.assignment02.solver;
+
+import industry.assignment02.dictionary.WordleDictionary;
+import industry.assignment02.game.WordleScorer;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * A precomputed matrix of the Wordle tile pattern of every dictionary word as a guess against every word as the answer
+ * a pattern is stored in one byte as a base-3 number of its tiles, rows of guesses are computed in parallel.
+ * Tables are shared per dictionary by the whole process, and saved in the table cache by dictionary fingerprint.
+ * The table grows with the square of the dictionary, so a dictionary of more than MAX_TABLE_SIZE pairs of words
+ * is not tabled, its patterns are scored on the fly from a copy of its words instead.
+ * A table never references its dictionary, the key of the shared tables, so a table is dropped with its dictionary.
+ */
+public final class WordlePatternTable implements FeedbackMatrix {
+    public static final int PATTERN_COUNT = 243;
+    public static final long MAX_TABLE_SIZE = 1L << 26;
+    private static final String CACHE_NAME = "wordle-patterns";
+    private static final Map<WordleDictionary, WordlePatternTable> SHARED =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final int size;
+    private final byte[] patterns;
+    private final byte[] words;
+
+    private WordlePatternTable(WordleDictionary dictionary) {
+        size = dictionary.size();
+        long tableSize = (long) size * size;
+        patterns = tableSize > MAX_TABLE_SIZE ? null : TableCache.getDefault().load(
+                CACHE_NAME + "-" + Long.toHexString(dictionary.getFingerprint()), dictionary.getFingerprint(),
+                (int) tableSize, () -> buildPatterns(dictionary));
+        words = patterns == null ? copyWords(dictionary) : null;
+    }
+
+    /**
+     * returns the shared table of the dictionary, builds it on first use if the dictionary is small enough
+     *
+     * @param dictionary A Wordle dictionary
+     * @return the pattern table of the dictionary
+     */
+    public static WordlePatternTable of(WordleDictionary dictionary) {
+        return SHARED.computeIfAbsent(dictionary, WordlePatternTable::new);
+    }
+
+    /**
+     * scores every word as a guess against every word as the answer, rows of guesses in parallel
+     *
+     * @return pattern codes of each pair
+     */
+    private static byte[] buildPatterns(WordleDictionary dictionary) {
+        int size = dictionary.size();
+        byte[] patterns = new byte[size * size];
+        IntStream.range(0, size).parallel().forEach(guess -> {
+            for (int answer = 0; answer < size; answer++)
+                patterns[guess * size + answer] = (byte) toPatternCode(dictionary.scoreGuess(answer, guess));
+        });
+        return patterns;
+    }
+
+    /**
+     * copies the letters of every word, five bytes per word
+     *
+     * @return letters of the words
+     */
+    private static byte[] copyWords(WordleDictionary dictionary) {
+        byte[] words = new byte[dictionary.size() * WordleDictionary.WORD_LENGTH];
+        for (int index = 0; index < dictionary.size(); index++)
+            for (int position = 0; position < WordleDictionary.WORD_LENGTH; position++)
+                words[index * WordleDictionary.WORD_LENGTH + position] = dictionary.getLetter(index, position);
+        return words;
+    }
+
+    /**
+     * converts a packed tile pattern to its base-3 pattern code
+     *
+     * @param tilePattern packed tile pattern, see WordleScorer
+     * @return pattern code from 0 to 242
+     */
+    public static int toPatternCode(int tilePattern) {
+        int code = 0;
+        for (int i = WordleDictionary.WORD_LENGTH - 1; i >= 0; i--)
+            code = code * 3 + WordleScorer.getTile(tilePattern, i);
+        return code;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int getFeedbackCount() {
+        return PATTERN_COUNT;
+    }
+
+    @Override
+    public int getFeedback(int guess, int secret) {
+        if (patterns == null)
+            return toPatternCode(WordleScorer.score(words, secret * WordleDictionary.WORD_LENGTH,
+                    words, guess * WordleDictionary.WORD_LENGTH, WordleDictionary.WORD_LENGTH));
+        return patterns[guess * size + secret] & 0xFF;
+    }
+}
@@ -0,0 +1,43 @@
+package industry.assignment02.log;
+
+import industry.assignment02.game.GameMode;
+import industry.assignment02.game.Result;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GameLogReaderTest {
+
+    @Test
+    public void reportsAGameWithoutEndAsUnfinished() throws Exception {
+        Path path = Files.createTempFile("games", ".log");
+        try {
+            try (GameLog log = GameLog.open(path)) {
+                for (long session = 1; session <= 2; session++) {
+                    log.logStart(session, GameMode.BULLSANDCOWS, false, 4, 10, null, "0123", 42);
+                    log.logTurn(session, 1, true, new Result("You", "4567", 0, 0));
+                }
+                log.logEnd(1);
+            }
+            Map<Long, LoggedGame> games = new HashMap<>();
+            GameLogReader.forEachGame(path, game -> games.put(game.getSessionId(), game));
+
+            assertEquals(2, games.size());
+            assertTrue(games.get(1L).isEnded());
+            assertTrue(games.get(1L).toText().contains("ran out of tries"), games.get(1L).toText());
+            assertFalse(games.get(2L).isEnded());
+            String unfinished = games.get(2L).toText();
+            assertFalse(unfinished.contains("ran out of tries"), unfinished);
+            assertTrue(unfinished.contains("The game was not finished! It stopped after 1 turn"), unfinished);
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package industry.assignment02.metrics;
+
+import industry.assignment02.role.AILevel;
+import org.junit.jupiter.api.Test;
+
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GameMetricsTest {
+
+    @Test
+    public void registersTheMetricsWithThePlatformMBeanServerOnce() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(GameMetrics.OBJECT_NAME);
+        assertTrue(GameMetrics.registerMBean());
+        assertTrue(GameMetrics.registerMBean(), "registering again");
+        assertTrue(server.isRegistered(name));
+
+        GameMetricsMXBean proxy = JMX.newMXBeanProxy(server, name, GameMetricsMXBean.class);
+        boolean enabled = proxy.isEnabled();
+        try {
+            proxy.setEnabled(true);
+            assertTrue(GameMetrics.getInstance().isEnabled());
+            long started = GameMetrics.getInstance().getCounters().getOrDefault("HARDAI.gamesStarted", 0L);
+            GameMetrics.getInstance().gameStarted(AILevel.HARDAI);
+            assertEquals(started + 1, (long) proxy.getCounters().get("HARDAI.gamesStarted"));
+        } finally {
+            proxy.setEnabled(enabled);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package industry.assignment02.role;
+
+import industry.assignment02.game.Result;
+import industry.assignment02.solver.CodeSpace;
+import industry.assignment02.solver.FeedbackTable;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class HardAITest {
+
+    @Test
+    public void guessOfHugeCodeSpaceScansABoundedNumberOfCodes() {
+        CodeSpace codeSpace = CodeSpace.of(8, 16);
+        HardAI computer = contradictedComputer(codeSpace);
+        assertNotNull(computer.guessPlayerCode(), "a guess after a scan of part of " + codeSpace);
+    }
+
+    @Test
+    public void guessOfLargeCodeSpaceScansItWhole() {
+        CodeSpace codeSpace = CodeSpace.of(6, 12);
+        assertFalse(FeedbackTable.isSupported(codeSpace));
+        HardAI computer = contradictedComputer(codeSpace);
+        assertNull(computer.guessPlayerCode(), "no code of " + codeSpace + " is consistent");
+    }
+
+    /**
+     * returns a computer whose guess results no code is consistent with
+     */
+    private static HardAI contradictedComputer(CodeSpace codeSpace) {
+        HardAI computer = new HardAI(AILevel.HARDAI);
+        computer.setCodeSpace(codeSpace);
+        computer.setSeed(1);
+        String guess = codeSpace.toString(codeSpace.unrank(0));
+        computer.getGuessResults().add(new Result("Computer", guess, 0, 0));
+        computer.getGuessResults().add(new Result("Computer", guess, 1, 0));
+        return computer;
+    }
+}
@@ -0,0 +1,52 @@
+package industry.assignment02.role;
+
+import industry.assignment02.game.Result;
+import industry.assignment02.solver.CodeSpace;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MediumAITest {
+
+    @Test
+    public void guessesEveryCodeOnceThenNull() {
+        for (CodeSpace codeSpace : new CodeSpace[]{CodeSpace.of(3, 4), CodeSpace.of(4, 5), CodeSpace.of(4, 10)}) {
+            MediumAI computer = new MediumAI(AILevel.MEDIUMAI);
+            computer.setCodeSpace(codeSpace);
+            computer.setSeed(7);
+            Set<String> guessed = new HashSet<>();
+            String guess;
+            while ((guess = computer.guessPlayerCode()) != null) {
+                assertTrue(guessed.add(guess), "repeated guess " + guess + " in " + codeSpace);
+                computer.getGuessResults().add(new Result("Computer", guess, 0, 0));
+            }
+            assertEquals(codeSpace.size(), guessed.size(), "guesses of " + codeSpace);
+        }
+    }
+
+    @Test
+    public void neverRepeatsAGuessRecordedOutOfTurn() {
+        CodeSpace codeSpace = CodeSpace.of(3, 4);
+        MediumAI computer = new MediumAI(AILevel.MEDIUMAI);
+        computer.setCodeSpace(codeSpace);
+        Set<String> guessed = new HashSet<>();
+        for (int index = 0; index < codeSpace.size(); index += 2) {
+            String code = codeSpace.toString(codeSpace.unrank(index));
+            guessed.add(code);
+            computer.getGuessResults().add(new Result("Computer", code, 0, 0));
+            computer.getGuessResults().add(new Result("Computer", code, 0, 0));
+        }
+        String guess;
+        while ((guess = computer.guessPlayerCode()) != null) {
+            assertTrue(guessed.add(guess), "repeated guess " + guess);
+            computer.getGuessResults().add(new Result("Computer", guess, 0, 0));
+        }
+        assertEquals(codeSpace.size(), guessed.size());
+        assertNull(computer.guessPlayerCode());
+    }
+}
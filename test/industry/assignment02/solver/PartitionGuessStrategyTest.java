@@ -0,0 +1,42 @@
+package industry.assignment02.solver;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PartitionGuessStrategyTest {
+    private final FeedbackTable table = FeedbackTable.of(CodeSpace.of(4, 6));
+    private final PartitionGuessStrategy strategy = new PartitionGuessStrategy(PartitionScore.MINIMAX);
+
+    @Test
+    public void timedSearchDrawsFromTheGivenRandom() {
+        CandidateSet candidates = remainingCandidates();
+        for (long seed = 0; seed < 20; seed++) {
+            long deadline = System.nanoTime();
+            int first = strategy.selectGuess(table, candidates, deadline, new SplittableRandom(seed));
+            int second = strategy.selectGuess(table, candidates, deadline, new SplittableRandom(seed));
+            assertEquals(first, second, "guesses of seed " + seed);
+            assertTrue(candidates.contains(first), "guess of seed " + seed + " is a remaining candidate");
+        }
+    }
+
+    @Test
+    public void timedSearchWithEnoughTimeMatchesUntimedSearch() {
+        CandidateSet candidates = remainingCandidates();
+        long deadline = System.nanoTime() + 60_000_000_000L;
+        assertEquals(strategy.selectGuess(table, candidates),
+                strategy.selectGuess(table, candidates, deadline, new SplittableRandom(1)));
+    }
+
+    /**
+     * returns the candidates left after the first code is guessed with no bulls and two cows
+     */
+    private CandidateSet remainingCandidates() {
+        CandidateSet candidates = table.newCandidateSet();
+        candidates.retainFeedback(table, 0, table.getCodeSpace().packFeedback(0, 2));
+        return candidates;
+    }
+}
@@ -0,0 +1,63 @@
+package industry.assignment02.solver;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TableCacheTest {
+    private static final byte[] TABLE = {1, 2, 3, 5, 8, 13, 21};
+
+    @Test
+    public void loadsASavedTableWithoutBuildingIt() throws Exception {
+        Path directory = Files.createTempDirectory("table-cache");
+        AtomicInteger builds = new AtomicInteger();
+        TableCache cache = new TableCache(directory);
+        assertTrue(Arrays.equals(TABLE, cache.load("fibonacci", 7, TABLE.length, () -> build(builds))));
+        assertTrue(Arrays.equals(TABLE, cache.load("fibonacci", 7, TABLE.length, () -> build(builds))));
+        assertEquals(1, builds.get());
+        deleteDirectory(directory);
+    }
+
+    @Test
+    public void buildsAgainWhenTheFileDoesNotFit() throws Exception {
+        Path directory = Files.createTempDirectory("table-cache");
+        AtomicInteger builds = new AtomicInteger();
+        TableCache cache = new TableCache(directory);
+        Path file = directory.resolve("fibonacci" + TableCache.FILE_EXTENSION);
+        cache.load("fibonacci", 7, TABLE.length, () -> build(builds));
+
+        cache.load("fibonacci", 8, TABLE.length, () -> build(builds));
+        assertEquals(2, builds.get(), "other parameters");
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(file, bytes);
+        assertTrue(Arrays.equals(TABLE, cache.load("fibonacci", 8, TABLE.length, () -> build(builds))));
+        assertEquals(3, builds.get(), "corrupt table");
+
+        Files.write(file, Arrays.copyOf(Files.readAllBytes(file), bytes.length - 1));
+        assertTrue(Arrays.equals(TABLE, cache.load("fibonacci", 8, -1, () -> build(builds))));
+        assertEquals(4, builds.get(), "truncated file");
+        deleteDirectory(directory);
+    }
+
+    private static byte[] build(AtomicInteger builds) {
+        builds.incrementAndGet();
+        return TABLE.clone();
+    }
+
+    private static void deleteDirectory(Path directory) throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator)
+                Files.delete(file);
+        }
+        Files.delete(directory);
+    }
+}
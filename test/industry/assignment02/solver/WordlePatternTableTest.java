@@ -0,0 +1,58 @@
+package industry.assignment02.solver;
+
+import industry.assignment02.dictionary.WordleDictionary;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class WordlePatternTableTest {
+    private static final int UNTABLED_SIZE = (int) Math.sqrt(WordlePatternTable.MAX_TABLE_SIZE) + 100;
+
+    @Test
+    public void scoresPatternsOnTheFlyAboveMaxTableSize() throws Exception {
+        WordleDictionary dictionary = readDictionary(UNTABLED_SIZE);
+        WordlePatternTable table = WordlePatternTable.of(dictionary);
+        assertEquals(dictionary.size(), table.size());
+        for (int guess = 0; guess < dictionary.size(); guess += 97)
+            for (int secret = 0; secret < dictionary.size(); secret += 89)
+                assertEquals(WordlePatternTable.toPatternCode(dictionary.scoreGuess(secret, guess)),
+                        table.getFeedback(guess, secret));
+    }
+
+    @Test
+    public void sharedTableDoesNotKeepItsDictionary() throws Exception {
+        WeakReference<WordleDictionary> dictionary = new WeakReference<>(readDictionary(UNTABLED_SIZE));
+        WordlePatternTable.of(dictionary.get());
+        for (int i = 0; i < 50 && dictionary.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(dictionary.get());
+    }
+
+    /**
+     * reads a dictionary of random words without sharing it
+     */
+    private static WordleDictionary readDictionary(int size) throws Exception {
+        Random random = new Random(size);
+        StringBuilder words = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            if (i > 0) words.append(',');
+            for (int j = 0; j < WordleDictionary.WORD_LENGTH; j++)
+                words.append((char) ('a' + random.nextInt(26)));
+        }
+        Path file = Files.createTempFile("dictionary", ".txt");
+        try {
+            Files.write(file, words.toString().getBytes());
+            return WordleDictionary.read(file.toString());
+        } finally {
+            Files.delete(file);
+        }
+    }
+}